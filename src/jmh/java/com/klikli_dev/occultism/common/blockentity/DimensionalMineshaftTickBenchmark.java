@@ -0,0 +1,320 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.blockentity;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.klikli_dev.occultism.Occultism;
+import com.klikli_dev.occultism.common.misc.WeightedOutputTable;
+import com.klikli_dev.occultism.exceptions.ItemHandlerMissingException;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.Difficulty;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.storage.WritableLevelData;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemStackHandler;
+import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisStd;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks idle or output blocked dimensional mineshafts, once with the sleeping tick and once with the tick as it was
+ * before miners could sleep ({@link #tickLegacy(DimensionalMineshaftBlockEntity)}).
+ * <p>
+ * The miners live in a level without server or chunks, which is enough for the tick as long as nothing is mined.
+ * The legacy tick therefore skips the nbt initialization of new operations and mines from an empty result table, so
+ * for blocked outputs it measures less work than it used to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DimensionalMineshaftTickBenchmark {
+
+    public static final int MINER_COUNT = 500;
+
+    protected static final Objenesis OBJENESIS = new ObjenesisStd();
+
+    @Param({"IDLE", "OUTPUT_FULL"})
+    public Scenario scenario;
+
+    protected BenchmarkLevelData levelData;
+    protected DimensionalMineshaftBlockEntity[] miners;
+    protected DimensionalMineshaftBlockEntity[] legacyMiners;
+
+    /**
+     * The tick before idle and output blocked miners could sleep.
+     */
+    protected static void tickLegacy(DimensionalMineshaftBlockEntity miner) {
+        if (!miner.getLevel().isClientSide) {
+            IItemHandler inputHandler = miner.inputHandler.orElseThrow(ItemHandlerMissingException::new);
+            ItemStack input = inputHandler.getStackInSlot(0);
+
+            if (miner.inputChanged) {
+                var unusing = DimensionalMineshaftBlockEntity.getUnusingEnchantment();
+                miner.inputHasUnusingEnchantment = unusing != null && input.isEnchanted() && input.getEnchantmentLevel(unusing) > 0;
+                miner.inputChanged = false;
+            }
+
+            if (miner.inputHasUnusingEnchantment && input.getMaxDamage() - input.getDamageValue() < 6) {
+                miner.miningTime = 0;
+                return;
+            }
+
+            if (miner.outputChanged && !miner.overflow.isEmpty()) {
+                miner.flushOverflow(miner.outputHandler.orElseThrow(ItemHandlerMissingException::new));
+            }
+
+            boolean dirty = false;
+            if (miner.miningTime > 0) {
+                miner.miningTime--;
+
+                if (miner.miningTime == 0 && !miner.getLevel().isClientSide) {
+                    miner.mine();
+                }
+
+                if (input.getItem() != miner.currentInputType) {
+                    miner.miningTime = 0;
+                    miner.possibleResults = null;
+                }
+                if (miner.miningTime % 10 == 0)
+                    dirty = true;
+            } else if (!input.isEmpty()) {
+                miner.currentInputType = input.getItem();
+                //forceInitStackNBT needs a fake player, which needs a server, the input nbt is prepared in setup instead
+                miner.maxMiningTime = DimensionalMineshaftBlockEntity.getMaxMiningTime(input);
+                miner.rollsPerOperation = DimensionalMineshaftBlockEntity.getRollsPerOperation(input);
+                miner.miningTime = miner.maxMiningTime;
+                dirty = true;
+            }
+
+            if (dirty) {
+                miner.markNetworkDirty();
+            }
+        }
+    }
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        Occultism.SERVER_CONFIG.spec.setConfig(CommentedConfig.inMemory());
+        //evilcraft is not present, so there is nothing to look up
+        DimensionalMineshaftBlockEntity.unusingEnchantmentResolved = true;
+
+        //only the game time is read by the tick, so a level without server and chunks will do
+        ServerLevel level = OBJENESIS.newInstance(ServerLevel.class);
+        this.levelData = new BenchmarkLevelData();
+        Field levelDataField = Level.class.getDeclaredField("levelData");
+        levelDataField.setAccessible(true);
+        levelDataField.set(level, this.levelData);
+
+        BlockEntityType<?> type = OBJENESIS.newInstance(BlockEntityType.class);
+        this.miners = new DimensionalMineshaftBlockEntity[MINER_COUNT];
+        this.legacyMiners = new DimensionalMineshaftBlockEntity[MINER_COUNT];
+        for (int i = 0; i < MINER_COUNT; i++) {
+            this.miners[i] = this.createMiner(type, level, i);
+            this.legacyMiners[i] = this.createMiner(type, level, i);
+        }
+
+        //let the new miners fall asleep, as they would after their first tick
+        for (int i = 0; i < DimensionalMineshaftBlockEntity.SLEEP_RECHECK_TICKS; i++) {
+            this.tickSleeping();
+        }
+    }
+
+    protected DimensionalMineshaftBlockEntity createMiner(BlockEntityType<?> type, ServerLevel level, int index) {
+        DimensionalMineshaftBlockEntity miner = new BenchmarkMineshaftBlockEntity(type, new BlockPos(index, 0, 0));
+        if (this.scenario == Scenario.OUTPUT_FULL) {
+            ItemStack input = new ItemStack(Items.IRON_PICKAXE);
+            input.getOrCreateTag().putInt(DimensionalMineshaftBlockEntity.MAX_MINING_TIME_TAG,
+                    DimensionalMineshaftBlockEntity.DEFAULT_MAX_MINING_TIME);
+            miner.inputHandler.orElseThrow(ItemHandlerMissingException::new).setStackInSlot(0, input);
+
+            ItemStackHandler outputHandler = miner.outputHandler.orElseThrow(ItemHandlerMissingException::new);
+            for (int i = 0; i < outputHandler.getSlots(); i++) {
+                outputHandler.setStackInSlot(i, new ItemStack(Items.COBBLESTONE, 64));
+            }
+            for (int i = 0; i < Occultism.SERVER_CONFIG.dimensionalMineshaft.overflowBufferSize.get(); i++) {
+                miner.overflow.add(new ItemStack(Items.COBBLESTONE, 64));
+            }
+            //the legacy miner mines into the full output, results are not looked up as there are no recipes
+            miner.possibleResults = new WeightedOutputTable(List.of());
+        }
+        miner.setLevel(level);
+        return miner;
+    }
+
+    @Benchmark
+    public void tickSleeping() {
+        this.levelData.gameTime++;
+        for (DimensionalMineshaftBlockEntity miner : this.miners) {
+            miner.tick();
+        }
+    }
+
+    @Benchmark
+    public void tickLegacy() {
+        this.levelData.gameTime++;
+        for (DimensionalMineshaftBlockEntity miner : this.legacyMiners) {
+            tickLegacy(miner);
+        }
+    }
+
+    public enum Scenario {
+        /**
+         * No input, nothing to mine.
+         */
+        IDLE,
+        /**
+         * Output and overflow buffer are full.
+         */
+        OUTPUT_FULL
+    }
+
+    /**
+     * The benchmark level has no chunks, so neither saving nor network updates can be scheduled.
+     */
+    protected static class BenchmarkMineshaftBlockEntity extends DimensionalMineshaftBlockEntity {
+
+        public BenchmarkMineshaftBlockEntity(BlockEntityType<?> type, BlockPos worldPos) {
+            super(type, worldPos, Blocks.AIR.defaultBlockState());
+        }
+
+        @Override
+        public void setChanged() {
+        }
+
+        @Override
+        public void markNetworkDirty() {
+        }
+    }
+
+    /**
+     * Level data that only knows the game time.
+     */
+    protected static class BenchmarkLevelData implements WritableLevelData {
+        public long gameTime;
+
+        @Override
+        public long getGameTime() {
+            return this.gameTime;
+        }
+
+        @Override
+        public long getDayTime() {
+            return this.gameTime;
+        }
+
+        @Override
+        public int getXSpawn() {
+            return 0;
+        }
+
+        @Override
+        public void setXSpawn(int xSpawn) {
+        }
+
+        @Override
+        public int getYSpawn() {
+            return 0;
+        }
+
+        @Override
+        public void setYSpawn(int ySpawn) {
+        }
+
+        @Override
+        public int getZSpawn() {
+            return 0;
+        }
+
+        @Override
+        public void setZSpawn(int zSpawn) {
+        }
+
+        @Override
+        public float getSpawnAngle() {
+            return 0;
+        }
+
+        @Override
+        public void setSpawnAngle(float spawnAngle) {
+        }
+
+        @Override
+        public boolean isThundering() {
+            return false;
+        }
+
+        @Override
+        public boolean isRaining() {
+            return false;
+        }
+
+        @Override
+        public void setRaining(boolean raining) {
+        }
+
+        @Override
+        public boolean isHardcore() {
+            return false;
+        }
+
+        @Override
+        public GameRules getGameRules() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Difficulty getDifficulty() {
+            return Difficulty.NORMAL;
+        }
+
+        @Override
+        public boolean isDifficultyLocked() {
+            return false;
+        }
+    }
+}
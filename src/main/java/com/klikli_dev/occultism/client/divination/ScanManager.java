@@ -24,71 +24,128 @@ package com.klikli_dev.occultism.client.divination;
 
 import com.klikli_dev.occultism.Occultism;
 import com.klikli_dev.occultism.integration.theurgy.TheurgyIntegration;
-import com.klikli_dev.occultism.util.Math3DUtil;
+import com.klikli_dev.occultism.network.MessageRequestDivinationResults;
+import com.klikli_dev.occultism.network.OccultismPackets;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.registries.ForgeRegistries;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 /**
  * Based on https://github.com/MightyPirates/Scannable
+ * Searches are answered by the server index if possible, see {@link MessageRequestDivinationResults}.
+ * The client scans in parallel, so the scan is spread over its full duration even if the server cannot answer or
+ * answers late. Once the server answers, the client scan is stopped and its results are replaced.
  */
 public class ScanManager {
     public static final ScanManager instance = new ScanManager();
     public static final int SCAN_DURATION_TICKS = 40;
     public static final int SCAN_RADIUS_BLOCKS = 96;
-    List<BlockPos> results = new ArrayList<>();
+    //the nearest result so far, tracked as results come in
+    private BlockPos nearestResult;
+    private double nearestResultDistanceSqr;
+    private Vec3 scanCenter;
     private Scanner scanner;
     private int scanningTicks = -1;
+    private boolean highlightAllResults;
+    //the id of the server request we are waiting for, or -1 if we are not waiting
+    private int pendingRequestId = -1;
+    private int nextRequestId;
 
     public void beginScan(Player player, Block target) {
         this.cancelScan();
 
+        int range = Occultism.CLIENT_CONFIG.misc.divinationRodScanRange.get();
+        this.scanCenter = player.position();
         this.scanner = new Scanner(target);
-        this.scanner.initialize(player, player.position(), Occultism.CLIENT_CONFIG.misc.divinationRodScanRange.get(), SCAN_DURATION_TICKS);
-        if (!TheurgyIntegration.isLoaded()) //only use if theurgy not used, because if it is, we use a particle effect that only goes to the closest target
-            this.scanner.setHighlightAllResults(Occultism.CLIENT_CONFIG.misc.divinationRodHighlightAllResults.get());
+        this.scanner.initialize(player, this.scanCenter, range, SCAN_DURATION_TICKS);
+        //only use if theurgy not used, because if it is, we use a particle effect that only goes to the closest target
+        this.highlightAllResults = !TheurgyIntegration.isLoaded() && Occultism.CLIENT_CONFIG.misc.divinationRodHighlightAllResults.get();
+        this.scanner.setHighlightAllResults(this.highlightAllResults);
+
+        //ask the server, the scanner keeps running until it answers
+        this.pendingRequestId = this.nextRequestId++;
+        OccultismPackets.sendToServer(new MessageRequestDivinationResults(this.pendingRequestId,
+                ForgeRegistries.BLOCKS.getKey(target), range, this.highlightAllResults));
     }
 
-    public void updateScan(Player player, boolean forceFinish) {
-        final int remainingTicks = SCAN_DURATION_TICKS - this.scanningTicks;
+    /**
+     * Called when the server answers a divination request.
+     *
+     * @param requestId      the id of the answered request.
+     * @param indexSupported false if the server cannot answer the request and the client needs to scan itself.
+     * @param results        the found positions, only the nearest one unless all results were requested.
+     */
+    public void onServerResults(int requestId, boolean indexSupported, List<BlockPos> results) {
+        if (requestId != this.pendingRequestId || this.scanner == null)
+            return; //outdated or cancelled
+
+        this.pendingRequestId = -1;
+        if (!indexSupported)
+            return; //the scanner simply continues
+
+        //the server answered, no need to scan anymore and its results are complete
+        this.scanner.reset();
+        this.scanner = null;
+        this.nearestResult = null;
+        this.nearestResultDistanceSqr = 0;
+        for (BlockPos result : results) {
+            if (this.highlightAllResults) {
+                Occultism.SELECTED_BLOCK_RENDERER.selectBlock(result, System.currentTimeMillis() + 10000);
+            }
+            this.acceptResult(result);
+        }
+    }
 
-        if (remainingTicks <= 0 || this.scanner == null) {
+    public void updateScan(Player player, boolean forceFinish) {
+        if (this.scanner == null) {
             return;
         }
 
-        //if we are not forcing we simply tick once
-        if (!forceFinish) {
-            this.scanner.scan(result -> this.results.add(result));
-            this.scanningTicks++;
+        //when forcing we scan all remaining sections at once and wait for the worker.
+        //the scanner ran every tick so far, so only few sections are left
+        if (forceFinish) {
+            //too late for the server answer, the scan result is used
+            this.pendingRequestId = -1;
+            this.scanner.finish(this::acceptResult);
+            this.scanningTicks = SCAN_DURATION_TICKS;
             return;
         }
 
-        //when forcing we scan through all remaining tikcs at once
-        for (int i = 0; i < remainingTicks; i++) {
-            this.scanner.scan(result -> this.results.add(result));
+        //otherwise we simply tick once
+        if (this.scanningTicks < SCAN_DURATION_TICKS) {
+            this.scanner.scan(this::acceptResult);
             this.scanningTicks++;
         }
     }
 
+    protected void acceptResult(BlockPos result) {
+        double distanceSqr = this.scanCenter.distanceToSqr(result.getX() + 0.5, result.getY() + 0.5, result.getZ() + 0.5);
+        if (this.nearestResult == null || distanceSqr < this.nearestResultDistanceSqr) {
+            this.nearestResult = result;
+            this.nearestResultDistanceSqr = distanceSqr;
+        }
+    }
+
     public BlockPos finishScan(Player player) {
         this.updateScan(player, true);
 
-        Vec3 scanCenter = player.position();
-        this.results
-                .sort(Comparator.comparing(result -> scanCenter.distanceToSqr(Math3DUtil.center(result))));
-        BlockPos result = !this.results.isEmpty() ? this.results.get(0) : null;
+        BlockPos result = this.nearestResult;
         this.cancelScan();
         return result;
     }
 
     public void cancelScan() {
+        if (this.scanner != null)
+            this.scanner.reset();
         this.scanner = null;
-        this.results.clear();
+        this.nearestResult = null;
+        this.nearestResultDistanceSqr = 0;
+        this.scanCenter = null;
         this.scanningTicks = -1;
+        this.pendingRequestId = -1;
     }
 }
@@ -22,21 +22,43 @@
 
 package com.klikli_dev.occultism.client.divination;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.klikli_dev.occultism.Occultism;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
 import net.minecraft.world.phys.Vec3;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 /**
  * Based on https://github.com/MightyPirates/Scannable
+ * Scans chunk section by chunk section, sections whose palette cannot contain the target block are skipped entirely.
+ * The remaining sections are copied on the main thread and searched on a worker thread, results are handed back
+ * through a queue and consumed on the main thread.
  */
 public class Scanner {
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Occultism Divination %d").setDaemon(true).build());
+
     protected Block target;
 
     protected Player player;
@@ -45,16 +67,16 @@ public class Scanner {
     //radius squared for faster comparison of distance
     protected float radiusSquared;
 
-    //the max extent of the scan
-    protected BlockPos min;
-    protected BlockPos max;
-
-    //the current scanned block
-    protected int x;
-    protected int y;
-    protected int z;
+    //the sections intersecting the scan sphere, as section positions
+    protected LongList sections = new LongArrayList();
+    //the index of the next section to scan
+    protected int sectionIndex;
     protected boolean highlightAllResults;
-    private int blocksPerTick;
+    //results found by the worker, not yet handed to the result consumer
+    protected Queue<BlockPos> pendingResults = new ConcurrentLinkedQueue<>();
+    protected List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    protected volatile boolean cancelled;
+    private int sectionsPerTick;
 
     public Scanner(Block target) {
         this.target = target;
@@ -69,70 +91,157 @@ public class Scanner {
         this.center = center;
         this.radius = radius;
         this.radiusSquared = this.radius * this.radius;
-        this.min = BlockPos.containing(center).offset(Mth.floor(-this.radius), Mth.floor(-this.radius), Mth.floor(-this.radius));
-        this.max = BlockPos.containing(center).offset(Mth.floor(this.radius), Mth.floor(this.radius), Mth.floor(this.radius));
-        this.x = this.min.getX();
-        this.y = this.min.getY() - 1;//first move next increments this to min.getY();
-        this.z = this.min.getZ();
-
-        BlockPos size = this.max.subtract(this.min);
-        int blockCount = (size.getX() + 1) * (size.getY() + 1) * (size.getZ() + 1);
-        this.blocksPerTick = Mth.ceil(blockCount / (float) totalTicks);
+        this.sections.clear();
+        this.sectionIndex = 0;
+        this.cancelled = false;
+
+        Level level = player.level();
+        int minX = SectionPos.blockToSectionCoord(Mth.floor(center.x - this.radius));
+        int minY = Math.max(SectionPos.blockToSectionCoord(Mth.floor(center.y - this.radius)), level.getMinSection());
+        int minZ = SectionPos.blockToSectionCoord(Mth.floor(center.z - this.radius));
+        int maxX = SectionPos.blockToSectionCoord(Mth.floor(center.x + this.radius));
+        int maxY = Math.min(SectionPos.blockToSectionCoord(Mth.floor(center.y + this.radius)), level.getMaxSection() - 1);
+        int maxZ = SectionPos.blockToSectionCoord(Mth.floor(center.z + this.radius));
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int y = minY; y <= maxY; y++) {
+                    if (this.intersectsSphere(x, y, z))
+                        this.sections.add(SectionPos.asLong(x, y, z));
+                }
+            }
+        }
+
+        this.sectionsPerTick = Mth.ceil(this.sections.size() / (float) totalTicks);
     }
 
     public void reset() {
+        //stops workers that are still running
+        this.cancelled = true;
         this.player = null;
         this.center = null;
         this.radius = 0;
         this.radiusSquared = 0;
-        this.min = null;
-        this.max = null;
+        this.sections.clear();
+        this.sectionIndex = 0;
+        this.pendingResults.clear();
+        this.tasks.clear();
     }
 
+    /**
+     * Snapshots the next batch of sections for the worker and hands finished results to the consumer.
+     * Must be called on the main thread.
+     */
     public void scan(Consumer<BlockPos> resultConsumer) {
-        Level level = this.player.level();
-        for (int i = 0; i < this.blocksPerTick; i++) {
-            //move to next block
-            if (!this.nextBlock(level)) {
-                return;
-            }
+        this.submit(this.sectionsPerTick);
+        this.consumeResults(resultConsumer);
+    }
 
-            //check if block is within radius
-            if (this.center.distanceToSqr(this.x + 0.5, this.y + 0.5, this.z + 0.5) > this.radiusSquared) {
-                continue;
-            }
+    /**
+     * Snapshots all remaining sections, waits for the worker and hands all results to the consumer.
+     * Must be called on the main thread.
+     */
+    public void finish(Consumer<BlockPos> resultConsumer) {
+        this.submit(this.sections.size() - this.sectionIndex);
+        CompletableFuture.allOf(this.tasks.toArray(CompletableFuture[]::new)).join();
+        this.tasks.clear();
+        this.consumeResults(resultConsumer);
+    }
 
-            BlockPos pos = new BlockPos(this.x, this.y, this.z);
-            BlockState state = level.getBlockState(pos);
+    protected void submit(int sectionCount) {
+        Level level = this.player.level();
+        List<SectionSnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < sectionCount && this.sectionIndex < this.sections.size(); i++) {
+            SectionSnapshot snapshot = this.snapshotSection(level, this.sections.getLong(this.sectionIndex++));
+            if (snapshot != null)
+                snapshots.add(snapshot);
+        }
 
-            //if this is the block we search for, consume it.
-            if (this.isValidBlock(state)) {
-                if (this.highlightAllResults) {
-                    Occultism.SELECTED_BLOCK_RENDERER.selectBlock(pos, System.currentTimeMillis() + 10000);
+        if (!snapshots.isEmpty()) {
+            //reset() clears the fields while the worker may still run, so it works on its own copies
+            Vec3 center = this.center;
+            float radiusSquared = this.radiusSquared;
+            this.tasks.removeIf(CompletableFuture::isDone);
+            this.tasks.add(CompletableFuture.runAsync(() -> {
+                for (SectionSnapshot snapshot : snapshots) {
+                    if (this.cancelled)
+                        return;
+                    this.scanSection(snapshot, center, radiusSquared);
                 }
-                resultConsumer.accept(pos);
+            }, EXECUTOR));
+        }
+    }
+
+    protected void consumeResults(Consumer<BlockPos> resultConsumer) {
+        BlockPos pos;
+        while ((pos = this.pendingResults.poll()) != null) {
+            if (this.highlightAllResults) {
+                Occultism.SELECTED_BLOCK_RENDERER.selectBlock(pos, System.currentTimeMillis() + 10000);
             }
+            resultConsumer.accept(pos);
         }
     }
 
-    public boolean nextBlock(Level level) {
-        this.y++;
-        if (this.y > this.max.getY() || this.y >= level.getHeight()) {
-            this.y = this.min.getY();
-            this.x++;
-            if (this.x > this.max.getX()) {
-                this.x = this.min.getX();
-                this.z++;
-                if (this.z > this.max.getZ()) {
-                    this.blocksPerTick = 0;
-                    return false;
+    protected SectionSnapshot snapshotSection(Level level, long sectionPos) {
+        int sectionX = SectionPos.x(sectionPos);
+        int sectionY = SectionPos.y(sectionPos);
+        int sectionZ = SectionPos.z(sectionPos);
+
+        ChunkAccess chunk = level.getChunkSource().getChunk(sectionX, sectionZ, ChunkStatus.FULL, false);
+        if (chunk == null)
+            return null;
+
+        LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+        //the palette tells us if the section can contain the target at all, most sections cannot
+        if (section.hasOnlyAir() || !section.maybeHas(this::isValidBlock))
+            return null;
+
+        return new SectionSnapshot(SectionPos.sectionToBlockCoord(sectionX), SectionPos.sectionToBlockCoord(sectionY),
+                SectionPos.sectionToBlockCoord(sectionZ), section.getStates().copy());
+    }
+
+    /**
+     * Searches a section snapshot for the target block. Called on the worker thread.
+     */
+    protected void scanSection(SectionSnapshot snapshot, Vec3 center, float radiusSquared) {
+        for (int y = 0; y < SectionPos.SECTION_SIZE; y++) {
+            for (int z = 0; z < SectionPos.SECTION_SIZE; z++) {
+                for (int x = 0; x < SectionPos.SECTION_SIZE; x++) {
+                    BlockState state = snapshot.states().get(x, y, z);
+                    if (!this.isValidBlock(state))
+                        continue;
+
+                    //check if block is within radius
+                    int blockX = snapshot.minX() + x;
+                    int blockY = snapshot.minY() + y;
+                    int blockZ = snapshot.minZ() + z;
+                    if (center.distanceToSqr(blockX + 0.5, blockY + 0.5, blockZ + 0.5) > radiusSquared)
+                        continue;
+
+                    this.pendingResults.add(new BlockPos(blockX, blockY, blockZ));
                 }
             }
         }
-        return true;
+    }
+
+    protected boolean intersectsSphere(int sectionX, int sectionY, int sectionZ) {
+        //distance from the center to the closest point of the section
+        double dx = this.distanceToRange(this.center.x, SectionPos.sectionToBlockCoord(sectionX));
+        double dy = this.distanceToRange(this.center.y, SectionPos.sectionToBlockCoord(sectionY));
+        double dz = this.distanceToRange(this.center.z, SectionPos.sectionToBlockCoord(sectionZ));
+        return dx * dx + dy * dy + dz * dz <= this.radiusSquared;
+    }
+
+    protected double distanceToRange(double value, int min) {
+        return value < min ? min - value : Math.max(0, value - (min + SectionPos.SECTION_SIZE));
     }
 
     public boolean isValidBlock(BlockState state) {
         return state.getBlock() == this.target;
     }
+
+    /**
+     * An immutable copy of the block states of a chunk section, safe to read from the worker thread.
+     */
+    protected record SectionSnapshot(int minX, int minY, int minZ, PalettedContainer<BlockState> states) {
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.client.model.block;
+
+import com.klikli_dev.occultism.Occultism;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.BlockAndTintGetter;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.client.ChunkRenderTypeSet;
+import net.minecraftforge.client.model.BakedModelWrapper;
+import net.minecraftforge.client.model.data.ModelData;
+import net.minecraftforge.client.model.data.ModelProperty;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Wraps the covered model of an otherworld block and renders the uncovered model instead while the block is
+ * uncovered by third eye or goggles on the client, see ThirdEyeEffectRenderer#isUncovered.
+ * This way uncovering never writes to the client level.
+ */
+public class UncoverableBakedModel extends BakedModelWrapper<BakedModel> {
+
+    public static final ModelProperty<Boolean> UNCOVERED = new ModelProperty<>();
+
+    protected final BakedModel uncoveredModel;
+
+    public UncoverableBakedModel(BakedModel coveredModel, BakedModel uncoveredModel) {
+        super(coveredModel);
+        this.uncoveredModel = uncoveredModel;
+    }
+
+    protected static boolean isUncovered(ModelData data) {
+        return Boolean.TRUE.equals(data.get(UNCOVERED));
+    }
+
+    @Override
+    public @NotNull ModelData getModelData(@NotNull BlockAndTintGetter level, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ModelData modelData) {
+        //called while building chunk meshes, possibly on a worker thread
+        modelData = super.getModelData(level, pos, state, modelData);
+        if (Occultism.THIRD_EYE_EFFECT_RENDERER.isUncovered(pos))
+            return modelData.derive().with(UNCOVERED, true).build();
+        return modelData;
+    }
+
+    @Override
+    public @NotNull List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, @NotNull RandomSource rand, @NotNull ModelData data, @Nullable RenderType renderType) {
+        if (isUncovered(data))
+            return this.uncoveredModel.getQuads(state, side, rand, data, renderType);
+        return super.getQuads(state, side, rand, data, renderType);
+    }
+
+    @Override
+    public @NotNull ChunkRenderTypeSet getRenderTypes(@NotNull BlockState state, @NotNull RandomSource rand, @NotNull ModelData data) {
+        if (isUncovered(data))
+            return this.uncoveredModel.getRenderTypes(state, rand, data);
+        return super.getRenderTypes(state, rand, data);
+    }
+
+    @Override
+    public TextureAtlasSprite getParticleIcon(@NotNull ModelData data) {
+        if (isUncovered(data))
+            return this.uncoveredModel.getParticleIcon(data);
+        return super.getParticleIcon(data);
+    }
+}
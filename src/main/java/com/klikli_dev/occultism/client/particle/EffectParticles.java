@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.client.particle;
+
+import com.klikli_dev.occultism.Occultism;
+import com.klikli_dev.occultism.registry.OccultismParticles;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Spawns the ambient particles of rituals, working spirits and mineshafts on the client.
+ * The server only syncs the animation state (ritual phase, spirit working, mineshaft mining time), the particles
+ * themselves are generated locally, scaled by the effectParticleDensity client config.
+ */
+public class EffectParticles {
+
+    /**
+     * A golden bowl waiting for the casting player, a sacrifice or an item use.
+     */
+    public static void ritualWaiting(Level level, BlockPos pos) {
+        RandomSource random = level.random;
+        if (random.nextInt(16) == 0) {
+            for (int i = 0; i < 2; i++) {
+                spawn(level, OccultismParticles.RITUAL_WAITING.get(),
+                        pos.getX() + random.nextGaussian(), pos.getY() + 0.5, pos.getZ() + random.nextGaussian(), 3);
+            }
+        }
+    }
+
+    /**
+     * A golden bowl with a ritual in progress.
+     */
+    public static void ritualRunning(Level level, BlockPos pos) {
+        RandomSource random = level.random;
+        if (random.nextInt(16) == 0) {
+            spawn(level, ParticleTypes.PORTAL, pos.getX() + 0.5 + random.nextGaussian() / 3,
+                    pos.getY() + 0.5, pos.getZ() + 0.5 + random.nextGaussian() / 3, 5);
+        }
+    }
+
+    /**
+     * A spirit that is crushing or trading the item it holds.
+     */
+    public static void spiritWorking(Level level, Vec3 pos) {
+        if (level.getGameTime() % 10 == 0) {
+            RandomSource random = level.random;
+            spawn(level, ParticleTypes.PORTAL, pos.x + random.nextGaussian() / 3, pos.y + 0.5,
+                    pos.z + random.nextGaussian() / 3, 1);
+        }
+    }
+
+    /**
+     * A dimensional mineshaft that is currently mining.
+     */
+    public static void mineshaftMining(Level level, BlockPos pos) {
+        if (level.getGameTime() % 10 == 0) {
+            spawn(level, ParticleTypes.PORTAL, pos.getX() + 0.5f, pos.getY() + 0.5, pos.getZ() + 0.5f, 1);
+        }
+    }
+
+    protected static void spawn(Level level, ParticleOptions particle, double x, double y, double z, int baseCount) {
+        int count = getScaledCount(level.random, baseCount);
+        for (int i = 0; i < count; i++) {
+            level.addParticle(particle, x, y, z, 0.0, 0.0, 0.0);
+        }
+    }
+
+    /**
+     * Scales the given particle count by the configured density.
+     * Fractions are rounded randomly, so on average the scaled amount is spawned even for small base counts.
+     */
+    protected static int getScaledCount(RandomSource random, int baseCount) {
+        double scaled = baseCount * Occultism.CLIENT_CONFIG.visuals.effectParticleDensity.get();
+        int count = (int) scaled;
+        if (random.nextDouble() < scaled - count)
+            count++;
+        return count;
+    }
+}
@@ -24,6 +24,7 @@ package com.klikli_dev.occultism.client.render;
 
 import com.klikli_dev.occultism.Occultism;
 import com.klikli_dev.occultism.api.common.data.OtherworldBlockTier;
+import com.klikli_dev.occultism.client.model.block.UncoverableBakedModel;
 import com.klikli_dev.occultism.common.block.otherworld.IOtherworldBlock;
 import com.klikli_dev.occultism.registry.OccultismEffects;
 import com.klikli_dev.occultism.util.CuriosUtil;
@@ -31,23 +32,36 @@ import com.mojang.blaze3d.platform.GlStateManager;
 import com.mojang.blaze3d.platform.Window;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.*;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraftforge.client.event.ScreenEvent;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
-import java.util.HashSet;
-import java.util.Set;
-
 public class ThirdEyeEffectRenderer {
 
     public static final int MAX_THIRD_EYE_DISTANCE = 10;
+    /**
+     * Client block changes have no event, so cached section contents are rescanned after this time.
+     */
+    public static final int SECTION_REVALIDATE_TICKS = 20;
     public static final ResourceLocation THIRD_EYE_SHADER = new ResourceLocation(Occultism.MODID,
             "shaders/post/third_eye.json");
     public static final ResourceLocation THIRD_EYE_TEXTURE = new ResourceLocation(Occultism.MODID,
@@ -55,13 +69,27 @@ public class ThirdEyeEffectRenderer {
     public boolean thirdEyeActiveLastTick = false;
     public boolean gogglesActiveLastTick = false;
 
-    public Set<BlockPos> uncoveredBlocks = new HashSet<>();
+    /**
+     * The uncovered otherworld blocks, rendered with their uncovered model by {@link UncoverableBakedModel}.
+     * Read while building chunk meshes on worker threads, so the set is only ever replaced, never modified.
+     */
+    protected volatile LongSet uncoveredBlocks = LongSets.EMPTY_SET;
+
+    /**
+     * Known otherworld block positions per chunk section near the player, sections without any are not stored.
+     */
+    protected final Long2ObjectMap<SectionEntry> otherworldSections = new Long2ObjectOpenHashMap<>();
+    protected BlockPos lastUncoverOrigin;
+    protected OtherworldBlockTier lastUncoverTier;
+    protected long lastUncoverTime;
 
     @SubscribeEvent
     public void onPlayerTick(TickEvent.PlayerTickEvent event) {
-        if (event.player.level().isClientSide && event.player == Minecraft.getInstance().player) {
-            this.onThirdEyeTick(event);
-            this.onGogglesTick(event);
+        if (event.phase == TickEvent.Phase.END && event.player.level().isClientSide && event.player == Minecraft.getInstance().player) {
+            //looked up once per tick, it walks all curios slots
+            boolean hasGoggles = CuriosUtil.hasGoggles(event.player);
+            this.onThirdEyeTick(event, hasGoggles);
+            this.onGogglesTick(event, hasGoggles);
         }
     }
 
@@ -103,46 +131,168 @@ public class ThirdEyeEffectRenderer {
         RenderSystem.disableBlend();
     }
 
+    public boolean isUncovered(BlockPos pos) {
+        return this.uncoveredBlocks.contains(pos.asLong());
+    }
+
     /**
-     * Resets the currently uncovered blocks
+     * Replaces the uncovered blocks and rebuilds the chunk sections of all blocks that changed.
      *
-     * @param level the level.
-     * @param clear true to delete the list of uncovered blocks.
+     * @param uncoveredBlocks the new uncovered blocks, must not be modified afterwards.
      */
-    public void resetUncoveredBlocks(Level level, boolean clear) {
-        for (BlockPos pos : this.uncoveredBlocks) {
-            BlockState state = level.getBlockState(pos);
-            if (state.getBlock() instanceof IOtherworldBlock) //handle replaced or removed blocks gracefully
-                level.setBlock(pos, state.setValue(IOtherworldBlock.UNCOVERED, false), 1);
+    protected void setUncoveredBlocks(LongSet uncoveredBlocks) {
+        LongSet previous = this.uncoveredBlocks;
+        this.uncoveredBlocks = uncoveredBlocks;
+
+        LongSet dirtySections = new LongOpenHashSet();
+        LongIterator iterator = previous.iterator();
+        while (iterator.hasNext()) {
+            long pos = iterator.nextLong();
+            if (!uncoveredBlocks.contains(pos))
+                dirtySections.add(SectionPos.blockToSection(pos));
+        }
+        iterator = uncoveredBlocks.iterator();
+        while (iterator.hasNext()) {
+            long pos = iterator.nextLong();
+            if (!previous.contains(pos))
+                dirtySections.add(SectionPos.blockToSection(pos));
+        }
+
+        LevelRenderer levelRenderer = Minecraft.getInstance().levelRenderer;
+        iterator = dirtySections.iterator();
+        while (iterator.hasNext()) {
+            long section = iterator.nextLong();
+            levelRenderer.setSectionDirty(SectionPos.x(section), SectionPos.y(section), SectionPos.z(section));
         }
-        if (clear)
-            this.uncoveredBlocks.clear();
+    }
+
+    /**
+     * Resets the currently uncovered blocks
+     */
+    public void resetUncoveredBlocks() {
+        if (!this.uncoveredBlocks.isEmpty())
+            this.setUncoveredBlocks(LongSets.EMPTY_SET);
+        this.otherworldSections.clear();
+        this.lastUncoverOrigin = null;
+        this.lastUncoverTier = null;
     }
 
     /**
      * Uncovers the otherworld blocks within MAX_THIRD_EYE_DISTANCE of the player.
+     * Only does work if the player moved to another block, the tier changed or the section caches need revalidation.
+     * Sections whose palette cannot contain otherworld blocks are skipped, for the others the positions of otherworld
+     * blocks are cached.
      *
      * @param player the player.
      * @param level  the level.
      */
     public void uncoverBlocks(Player player, Level level, OtherworldBlockTier tier) {
         BlockPos origin = player.blockPosition();
-        BlockPos.betweenClosed(origin.offset(-MAX_THIRD_EYE_DISTANCE, -MAX_THIRD_EYE_DISTANCE, -MAX_THIRD_EYE_DISTANCE),
-                origin.offset(MAX_THIRD_EYE_DISTANCE, MAX_THIRD_EYE_DISTANCE, MAX_THIRD_EYE_DISTANCE)).forEach(pos -> {
-            BlockState state = level.getBlockState(pos);
-            if (state.getBlock() instanceof IOtherworldBlock block) {
-                if (block.getTier().getLevel() <= tier.getLevel()) {
-                    if (!state.getValue(IOtherworldBlock.UNCOVERED)) {
-                        level.setBlock(pos, state.setValue(IOtherworldBlock.UNCOVERED, true), 1);
+        long gameTime = level.getGameTime();
+        if (origin.equals(this.lastUncoverOrigin) && tier == this.lastUncoverTier &&
+                gameTime - this.lastUncoverTime < SECTION_REVALIDATE_TICKS)
+            return;
+
+        this.lastUncoverOrigin = origin;
+        this.lastUncoverTier = tier;
+        this.lastUncoverTime = gameTime;
+
+        int minX = origin.getX() - MAX_THIRD_EYE_DISTANCE;
+        int minY = origin.getY() - MAX_THIRD_EYE_DISTANCE;
+        int minZ = origin.getZ() - MAX_THIRD_EYE_DISTANCE;
+        int maxX = origin.getX() + MAX_THIRD_EYE_DISTANCE;
+        int maxY = origin.getY() + MAX_THIRD_EYE_DISTANCE;
+        int maxZ = origin.getZ() + MAX_THIRD_EYE_DISTANCE;
+        int minSectionX = SectionPos.blockToSectionCoord(minX);
+        int minSectionY = Math.max(SectionPos.blockToSectionCoord(minY), level.getMinSection());
+        int minSectionZ = SectionPos.blockToSectionCoord(minZ);
+        int maxSectionX = SectionPos.blockToSectionCoord(maxX);
+        int maxSectionY = Math.min(SectionPos.blockToSectionCoord(maxY), level.getMaxSection() - 1);
+        int maxSectionZ = SectionPos.blockToSectionCoord(maxZ);
+
+        //forget sections we left behind
+        LongIterator sections = this.otherworldSections.keySet().iterator();
+        while (sections.hasNext()) {
+            long key = sections.nextLong();
+            if (SectionPos.x(key) < minSectionX || SectionPos.x(key) > maxSectionX ||
+                    SectionPos.y(key) < minSectionY || SectionPos.y(key) > maxSectionY ||
+                    SectionPos.z(key) < minSectionZ || SectionPos.z(key) > maxSectionZ)
+                sections.remove();
+        }
+
+        LongSet uncoveredBlocks = this.uncoveredBlocks;
+        LongSet newBlocks = new LongOpenHashSet();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int sectionX = minSectionX; sectionX <= maxSectionX; sectionX++) {
+            for (int sectionZ = minSectionZ; sectionZ <= maxSectionZ; sectionZ++) {
+                ChunkAccess chunk = level.getChunkSource().getChunk(sectionX, sectionZ, ChunkStatus.FULL, false);
+                if (chunk == null)
+                    continue;
+
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                    SectionEntry entry = this.getOtherworldSection(chunk, sectionX, sectionY, sectionZ, gameTime);
+                    if (entry == null)
+                        continue;
+
+                    LongIterator iterator = entry.positions.iterator();
+                    while (iterator.hasNext()) {
+                        long key = iterator.nextLong();
+                        pos.set(key);
+                        if (pos.getX() < minX || pos.getX() > maxX || pos.getY() < minY || pos.getY() > maxY ||
+                                pos.getZ() < minZ || pos.getZ() > maxZ || uncoveredBlocks.contains(key))
+                            continue;
+
+                        if (level.getBlockState(pos).getBlock() instanceof IOtherworldBlock block &&
+                                block.getTier().getLevel() <= tier.getLevel()) {
+                            newBlocks.add(key);
+                        }
+                    }
+                }
+            }
+        }
+
+        //blocks stay uncovered until the effect ends, so only publish a new set if we found additional blocks
+        if (!newBlocks.isEmpty()) {
+            newBlocks.addAll(uncoveredBlocks);
+            this.setUncoveredBlocks(newBlocks);
+        }
+    }
+
+    /**
+     * Gets the cached otherworld block positions of the given section, rescanning it if needed.
+     *
+     * @return the section entry, or null if the section cannot contain otherworld blocks.
+     */
+    protected SectionEntry getOtherworldSection(ChunkAccess chunk, int sectionX, int sectionY, int sectionZ, long gameTime) {
+        long key = SectionPos.asLong(sectionX, sectionY, sectionZ);
+        LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+        //the palette is checked every time, so newly placed otherworld blocks in other sections are seen right away
+        if (section.hasOnlyAir() || !section.maybeHas(state -> state.getBlock() instanceof IOtherworldBlock)) {
+            this.otherworldSections.remove(key);
+            return null;
+        }
+
+        SectionEntry entry = this.otherworldSections.get(key);
+        if (entry == null || entry.section != section || gameTime - entry.scanTime >= SECTION_REVALIDATE_TICKS) {
+            LongList positions = new LongArrayList();
+            int minX = SectionPos.sectionToBlockCoord(sectionX);
+            int minY = SectionPos.sectionToBlockCoord(sectionY);
+            int minZ = SectionPos.sectionToBlockCoord(sectionZ);
+            for (int y = 0; y < SectionPos.SECTION_SIZE; y++) {
+                for (int z = 0; z < SectionPos.SECTION_SIZE; z++) {
+                    for (int x = 0; x < SectionPos.SECTION_SIZE; x++) {
+                        if (section.getBlockState(x, y, z).getBlock() instanceof IOtherworldBlock)
+                            positions.add(BlockPos.asLong(minX + x, minY + y, minZ + z));
                     }
-                    this.uncoveredBlocks.add(pos.immutable());
                 }
             }
-        });
+            entry = new SectionEntry(section, positions, gameTime);
+            this.otherworldSections.put(key, entry);
+        }
+        return entry;
     }
 
-    public void onThirdEyeTick(TickEvent.PlayerTickEvent event) {
-        boolean hasGoggles = CuriosUtil.hasGoggles(event.player);
+    public void onThirdEyeTick(TickEvent.PlayerTickEvent event, boolean hasGoggles) {
         if (hasGoggles)
             return;
 
@@ -161,8 +311,7 @@ public class ThirdEyeEffectRenderer {
             this.uncoverBlocks(event.player, event.player.level(), OtherworldBlockTier.ONE);
         } else {
             //if we don't have goggles, cover blocks
-            //Try twice, but on the last effect tick, clear the list.
-            this.resetUncoveredBlocks(event.player.level(), duration == 0);
+            this.resetUncoveredBlocks();
 
             if (this.thirdEyeActiveLastTick) {
                 this.thirdEyeActiveLastTick = false;
@@ -175,8 +324,7 @@ public class ThirdEyeEffectRenderer {
         }
     }
 
-    public void onGogglesTick(TickEvent.PlayerTickEvent event) {
-        boolean hasGoggles = CuriosUtil.hasGoggles(event.player);
+    public void onGogglesTick(TickEvent.PlayerTickEvent event, boolean hasGoggles) {
         if (hasGoggles) {
             if (!this.gogglesActiveLastTick) {
                 this.gogglesActiveLastTick = true;
@@ -187,7 +335,7 @@ public class ThirdEyeEffectRenderer {
                 this.gogglesActiveLastTick = false;
 
                 //only cover blocks if third eye is not active and still needs them visible.
-                this.resetUncoveredBlocks(event.player.level(), true);
+                this.resetUncoveredBlocks();
                 if (this.thirdEyeActiveLastTick) {
                     //this uncovers tier 1 blocks that we still can see under normal third eye
                     this.uncoverBlocks(event.player, event.player.level(), OtherworldBlockTier.ONE);
@@ -195,4 +343,7 @@ public class ThirdEyeEffectRenderer {
             }
         }
     }
+
+    protected record SectionEntry(LevelChunkSection section, LongList positions, long scanTime) {
+    }
 }
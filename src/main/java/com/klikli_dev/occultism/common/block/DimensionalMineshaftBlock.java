@@ -27,6 +27,7 @@ import com.klikli_dev.occultism.registry.OccultismTiles;
 import com.klikli_dev.occultism.util.StorageUtil;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.Containers;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.MenuProvider;
@@ -92,6 +93,10 @@ public class DimensionalMineshaftBlock extends Block implements EntityBlock {
             if (blockEntity != null) {
                 StorageUtil.dropInventoryItems(blockEntity);
             }
+            if (blockEntity instanceof DimensionalMineshaftBlockEntity shaft) {
+                shaft.getOverflow().forEach(stack -> Containers.dropItemStack(worldIn, pos.getX(), pos.getY(), pos.getZ(), stack));
+                shaft.getOverflow().clear();
+            }
             super.onRemove(state, worldIn, pos, newState, isMoving);
         }
     }
@@ -64,6 +64,8 @@ public class GoldenSacrificialBowlBlock extends Block implements EntityBlock {
                                 boolean isMoving) {
         super.neighborChanged(state, level, pos, blockIn, fromPos, isMoving);
         level.scheduleTick(pos, this, 0);
+        if (level.getBlockEntity(pos) instanceof GoldenSacrificialBowlBlockEntity bowl)
+            bowl.wake();
     }
 
 
@@ -25,6 +25,7 @@ package com.klikli_dev.occultism.common.block.otherworld;
 import com.klikli_dev.occultism.api.common.data.OtherworldBlockTier;
 import com.klikli_dev.occultism.api.common.item.IOtherworldTool;
 import com.klikli_dev.occultism.registry.OccultismEffects;
+import com.klikli_dev.occultism.util.OtherworldUtil;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
@@ -65,7 +66,9 @@ public interface IOtherworldBlock {
     }
 
     default ItemStack getItem(BlockGetter worldIn, BlockPos pos, BlockState state) {
-        return new ItemStack(state.getValue(UNCOVERED) ? this.getUncoveredBlock() : this.getCoveredBlock(), 1);
+        //on the client the state is no longer uncovered, the third eye overlay tracks uncovered blocks instead
+        boolean uncovered = state.getValue(UNCOVERED) || OtherworldUtil.isUncoveredDistAware(pos);
+        return new ItemStack(uncovered ? this.getUncoveredBlock() : this.getCoveredBlock(), 1);
     }
 
 }
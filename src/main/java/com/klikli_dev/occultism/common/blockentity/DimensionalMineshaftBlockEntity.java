@@ -22,26 +22,30 @@
 
 package com.klikli_dev.occultism.common.blockentity;
 
+import com.klikli_dev.occultism.Occultism;
+import com.klikli_dev.occultism.client.particle.EffectParticles;
 import com.klikli_dev.occultism.common.container.DimensionalMineshaftContainer;
-import com.klikli_dev.occultism.common.misc.WeightedOutputIngredient;
+import com.klikli_dev.occultism.common.misc.WeightedOutputTable;
 import com.klikli_dev.occultism.crafting.recipe.MinerRecipe;
+import com.klikli_dev.occultism.crafting.recipe.OccultismRecipeCache;
 import com.klikli_dev.occultism.exceptions.ItemHandlerMissingException;
-import com.klikli_dev.occultism.registry.OccultismRecipes;
 import com.klikli_dev.occultism.registry.OccultismTiles;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.util.random.WeightedRandom;
 import net.minecraft.world.MenuProvider;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ForgeCapabilities;
@@ -58,7 +62,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implements MenuProvider {
@@ -68,10 +71,17 @@ public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implem
     public static final int DEFAULT_MAX_MINING_TIME = 400;
     public static int DEFAULT_ROLLS_PER_OPERATION = 1;
     public static String ROLLS_PER_OPERATION_TAG = "rollsPerOperation";
+    /**
+     * Sleeping miners check their state again after this time, in case a change did not notify them.
+     */
+    public static final int SLEEP_RECHECK_TICKS = 20;
+    protected static Enchantment unusingEnchantment;
+    protected static boolean unusingEnchantmentResolved;
     public LazyOptional<ItemStackHandler> inputHandler = LazyOptional.of(() -> new ItemStackHandler(1) {
 
         @Override
         protected void onContentsChanged(int slot) {
+            DimensionalMineshaftBlockEntity.this.markInputChanged();
             DimensionalMineshaftBlockEntity.this.setChanged();
         }
 
@@ -80,6 +90,7 @@ public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implem
 
         @Override
         protected void onContentsChanged(int slot) {
+            DimensionalMineshaftBlockEntity.this.markOutputChanged();
             DimensionalMineshaftBlockEntity.this.setChanged();
         }
 
@@ -92,10 +103,27 @@ public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implem
     public int maxMiningTime = 0;
     public int rollsPerOperation = 0;
     protected Item currentInputType;
-    protected List<WeightedOutputIngredient> possibleResults;
+    protected WeightedOutputTable possibleResults;
+    /**
+     * Results that did not fit into the output, moved to the output once there is space again.
+     */
+    protected List<ItemStack> overflow = new ArrayList<>();
+    protected boolean inputChanged = true;
+    protected boolean inputHasUnusingEnchantment;
+    protected boolean outputChanged;
+    /**
+     * True if the miner has nothing to do until its input or output changes, see {@link #tick()}.
+     * Not saved, after loading the miner checks its state again.
+     * Changes to the handlers wake the miner, stacks modified in place are caught by {@link #SLEEP_RECHECK_TICKS}.
+     */
+    protected boolean sleeping;
 
     public DimensionalMineshaftBlockEntity(BlockPos worldPos, BlockState state) {
-        super(OccultismTiles.DIMENSIONAL_MINESHAFT.get(), worldPos, state);
+        this(OccultismTiles.DIMENSIONAL_MINESHAFT.get(), worldPos, state);
+    }
+
+    public DimensionalMineshaftBlockEntity(BlockEntityType<?> type, BlockPos worldPos, BlockState state) {
+        super(type, worldPos, state);
     }
 
     //region Static Methods
@@ -111,6 +139,18 @@ public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implem
         return time <= 0 ? DEFAULT_MAX_MINING_TIME : time;
     }
 
+    /**
+     * Gets the unusing enchantment from evilcraft, resolved once as registries do not change after loading.
+     */
+    @Nullable
+    public static Enchantment getUnusingEnchantment() {
+        if (!unusingEnchantmentResolved) {
+            unusingEnchantment = ForgeRegistries.ENCHANTMENTS.getValue(EVILCRAFT_UNUSING_ENCHANTEMENT);
+            unusingEnchantmentResolved = true;
+        }
+        return unusingEnchantment;
+    }
+
     public static int getRollsPerOperation(ItemStack stack) {
         CompoundTag tag = stack.getTag();
         if (tag == null)
@@ -145,12 +185,27 @@ public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implem
         super.load(compound);
         this.inputHandler.ifPresent((handler) -> handler.deserializeNBT(compound.getCompound("inputHandler")));
         this.outputHandler.ifPresent((handler) -> handler.deserializeNBT(compound.getCompound("outputHandler")));
+        this.overflow.clear();
+        ListTag overflowTag = compound.getList("overflow", Tag.TAG_COMPOUND);
+        for (int i = 0; i < overflowTag.size(); i++) {
+            this.overflow.add(ItemStack.of(overflowTag.getCompound(i)));
+        }
+        this.inputChanged = true;
+        this.outputChanged = true;
+        this.sleeping = false;
     }
 
     @Override
     protected void saveAdditional(CompoundTag compound) {
         this.inputHandler.ifPresent(handler -> compound.put("inputHandler", handler.serializeNBT()));
         this.outputHandler.ifPresent(handler -> compound.put("outputHandler", handler.serializeNBT()));
+        if (!this.overflow.isEmpty()) {
+            ListTag overflowTag = new ListTag();
+            for (ItemStack stack : this.overflow) {
+                overflowTag.add(stack.save(new CompoundTag()));
+            }
+            compound.put("overflow", overflowTag);
+        }
         super.saveAdditional(compound);
     }
 
@@ -175,20 +230,91 @@ public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implem
         super.setRemoved();
     }
 
+    /**
+     * @return true if a mining operation is in progress. Synced to the client via the mining time.
+     */
+    public boolean isMining() {
+        return this.miningTime > 0;
+    }
+
+    public boolean isSleeping() {
+        return this.sleeping;
+    }
+
+    /**
+     * Wakes the miner and re-checks the input. Called when the input changed, also by menu slots that modify the
+     * stack in place without notifying the handler.
+     */
+    public void markInputChanged() {
+        this.inputChanged = true;
+        this.sleeping = false;
+    }
+
+    /**
+     * Wakes the miner and retries the overflow buffer. Called when the output changed, also by menu slots that modify
+     * the stack in place without notifying the handler.
+     */
+    public void markOutputChanged() {
+        this.outputChanged = true;
+        this.sleeping = false;
+    }
+
+    /**
+     * @return true if neither the output nor the overflow buffer can take any more items.
+     */
+    public boolean isOutputBlocked() {
+        ItemStackHandler outputHandler = this.outputHandler.orElseThrow(ItemHandlerMissingException::new);
+        for (int i = 0; i < outputHandler.getSlots(); i++) {
+            ItemStack stack = outputHandler.getStackInSlot(i);
+            if (stack.isEmpty() || stack.getCount() < Math.min(outputHandler.getSlotLimit(i), stack.getMaxStackSize()))
+                return false;
+        }
+
+        if (this.overflow.size() < Occultism.SERVER_CONFIG.dimensionalMineshaft.overflowBufferSize.get())
+            return false;
+        for (ItemStack stack : this.overflow) {
+            if (stack.getCount() < stack.getMaxStackSize())
+                return false;
+        }
+        return true;
+    }
+
+    public List<ItemStack> getOverflow() {
+        return this.overflow;
+    }
+
     public void tick() {
         if (!this.level.isClientSide) {
+            //the handlers wake us up once something changes
+            if (this.sleeping) {
+                if (this.level.getGameTime() % SLEEP_RECHECK_TICKS != 0)
+                    return;
+                //re-check, below we fall asleep again if there is still nothing to do
+                this.sleeping = false;
+            }
+
             IItemHandler inputHandler = this.inputHandler.orElseThrow(ItemHandlerMissingException::new);
             ItemStack input = inputHandler.getStackInSlot(0);
 
+            if (this.inputChanged) {
+                //the enchantments only change with the input stack, so we only look them up then
+                Enchantment unusing = getUnusingEnchantment();
+                this.inputHasUnusingEnchantment = unusing != null && input.isEnchanted() && input.getEnchantmentLevel(unusing) > 0;
+                this.inputChanged = false;
+            }
+
             //handle unusing enchantment from evilcraft, see https://github.com/klikli-dev/occultism/issues/909
-            if (input.getMaxDamage() - input.getDamageValue() < 6 &&
-                    input.isEnchanted() &&
-                    ForgeRegistries.ENCHANTMENTS.containsKey(EVILCRAFT_UNUSING_ENCHANTEMENT) &&
-                    input.getEnchantmentLevel(ForgeRegistries.ENCHANTMENTS.getValue(EVILCRAFT_UNUSING_ENCHANTEMENT)) > 0) {
+            if (this.inputHasUnusingEnchantment && input.getMaxDamage() - input.getDamageValue() < 6) {
                 this.miningTime = 0;
+                this.sleeping = true;
                 return;
             }
 
+            //only retry the overflow once something was taken out of the output
+            if (this.outputChanged && !this.overflow.isEmpty()) {
+                this.flushOverflow(this.outputHandler.orElseThrow(ItemHandlerMissingException::new));
+            }
+
             boolean dirty = false;
             if (this.miningTime > 0) {
                 this.miningTime--;
@@ -207,7 +333,10 @@ public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implem
                 }
                 if (this.miningTime % 10 == 0)
                     dirty = true;
-            } else if (!input.isEmpty()) {
+            } else if (input.isEmpty() || this.isOutputBlocked()) {
+                //nothing to mine, or nowhere to put the results: sleep until the input or output changes
+                this.sleeping = true;
+            } else {
                 //if we're done with the last mining job, and we have valid input, start the next one.
                 this.currentInputType = input.getItem();
                 //ensure nbt is initialized, fixes issues with spawned miner spirits
@@ -222,9 +351,8 @@ public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implem
                 this.markNetworkDirty();
             }
         } else {
-            if (this.miningTime > 0 && this.level.getGameTime() % 10 == 0) {
-                this.level.addParticle(ParticleTypes.PORTAL, this.worldPosition.getX() + 0.5f,
-                        this.worldPosition.getY() + 0.5, this.worldPosition.getZ() + 0.5f, 0.0D, 0.0D, 0.0D);
+            if (this.isMining()) {
+                EffectParticles.mineshaftMining(this.level, this.worldPosition);
             }
         }
     }
@@ -241,27 +369,26 @@ public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implem
         ItemStackHandler outputHandler = this.outputHandler.orElseThrow(ItemHandlerMissingException::new);
 
         if (this.possibleResults == null) {
-            List<MinerRecipe> recipes = this.level.getRecipeManager()
-                    .getRecipesFor(OccultismRecipes.MINER_TYPE.get(),
-                            new RecipeWrapper(inputHandler), this.level);
-            if (recipes == null || recipes.size() == 0) {
-                this.possibleResults = new ArrayList<>();
-            } else {
-                this.possibleResults = recipes.stream().map(r -> r.getWeightedOutput()).collect(Collectors.toList());
-            }
+            RecipeWrapper inventory = new RecipeWrapper(inputHandler);
+            this.possibleResults = new WeightedOutputTable(OccultismRecipeCache.get(this.level).getMinerRecipes(inputHandler.getStackInSlot(0))
+                    .stream().filter(r -> r.matches(inventory, this.level))
+                    .map(MinerRecipe::getWeightedOutput).collect(Collectors.toList()));
         }
 
         if (this.possibleResults.size() == 0)
             return;
 
+        //roll all results first, so each result type is inserted in one go
+        int[] rolledCounts = new int[this.possibleResults.size()];
         for (int i = 0; i < this.rollsPerOperation; i++) {
-            Optional<WeightedOutputIngredient> result = WeightedRandom.getRandomItem(this.level.random, this.possibleResults);
-            //Important: copy the result, don't use it raw!
-            result.ifPresent(r -> {
-                ItemHandlerHelper.insertItemStacked(outputHandler, r.getStack().copy(), false);
-            });
-            //If there is no space, we simply continue. The otherworld miner spirit keeps working,
-            // but the miner block entity simply discards the results
+            int result = this.possibleResults.roll(this.level.random);
+            if (result >= 0)
+                rolledCounts[result]++;
+        }
+
+        for (int i = 0; i < rolledCounts.length; i++) {
+            if (rolledCounts[i] > 0)
+                this.insertResult(outputHandler, this.possibleResults.get(i).getStack(), rolledCounts[i]);
         }
 
         //damage and eventually consume item.
@@ -269,7 +396,67 @@ public class DimensionalMineshaftBlockEntity extends NetworkedBlockEntity implem
         if (input.hurt(1, this.level.random, null)) {
             input.shrink(1);
             input.setDamageValue(0);
+            //shrinking directly does not notify the handler
+            this.inputChanged = true;
+        }
+    }
+
+    /**
+     * Inserts the given result the given amount of times into the output.
+     * What does not fit goes to the overflow buffer, see {@link #addOverflow(ItemStack)}.
+     */
+    protected void insertResult(IItemHandler outputHandler, ItemStack result, int times) {
+        int maxStackSize = result.getMaxStackSize();
+        int remaining = result.getCount() * times;
+        boolean outputFull = false;
+        while (remaining > 0) {
+            //Important: copy the result, don't use it raw!
+            ItemStack stack = result.copyWithCount(Math.min(remaining, maxStackSize));
+            remaining -= stack.getCount();
+
+            //once the output is full for this result we skip further insert attempts
+            if (!outputFull) {
+                stack = ItemHandlerHelper.insertItemStacked(outputHandler, stack, false);
+                outputFull = !stack.isEmpty();
+            }
+            if (!stack.isEmpty())
+                this.addOverflow(stack);
+        }
+    }
+
+    /**
+     * Keeps the given stack in the overflow buffer.
+     * If the buffer is full the stack is discarded, the otherworld miner spirit keeps working regardless.
+     */
+    protected void addOverflow(ItemStack stack) {
+        for (ItemStack existing : this.overflow) {
+            if (ItemHandlerHelper.canItemStacksStack(existing, stack)) {
+                int moved = Math.min(stack.getCount(), existing.getMaxStackSize() - existing.getCount());
+                existing.grow(moved);
+                stack.shrink(moved);
+                if (stack.isEmpty())
+                    return;
+            }
+        }
+
+        if (this.overflow.size() < Occultism.SERVER_CONFIG.dimensionalMineshaft.overflowBufferSize.get()) {
+            this.overflow.add(stack);
+            this.setChanged();
+        }
+    }
+
+    protected void flushOverflow(IItemHandler outputHandler) {
+        while (!this.overflow.isEmpty()) {
+            ItemStack remainder = ItemHandlerHelper.insertItemStacked(outputHandler, this.overflow.get(0), false);
+            if (!remainder.isEmpty()) {
+                //output is full again, keep the rest for later
+                this.overflow.set(0, remainder);
+                break;
+            }
+            this.overflow.remove(0);
         }
+        this.outputChanged = false;
+        this.setChanged();
     }
 
     @Override
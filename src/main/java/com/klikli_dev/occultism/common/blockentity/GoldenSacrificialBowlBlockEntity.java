@@ -22,29 +22,24 @@
 
 package com.klikli_dev.occultism.common.blockentity;
 
-import com.klikli_dev.modonomicon.api.ModonomiconAPI;
-import com.klikli_dev.modonomicon.api.multiblock.Multiblock;
-import com.klikli_dev.modonomicon.api.multiblock.Multiblock.SimulateResult;
 import com.klikli_dev.occultism.Occultism;
+import com.klikli_dev.occultism.client.particle.EffectParticles;
 import com.klikli_dev.occultism.common.item.DummyTooltipItem;
 import com.klikli_dev.occultism.common.item.spirit.BookOfBindingItem;
 import com.klikli_dev.occultism.common.ritual.Ritual;
+import com.klikli_dev.occultism.common.ritual.RitualHelpManager;
+import com.klikli_dev.occultism.common.ritual.RitualPhase;
+import com.klikli_dev.occultism.crafting.recipe.OccultismRecipeCache;
 import com.klikli_dev.occultism.crafting.recipe.RitualRecipe;
 import com.klikli_dev.occultism.exceptions.ItemHandlerMissingException;
-import com.klikli_dev.occultism.registry.OccultismParticles;
-import com.klikli_dev.occultism.registry.OccultismRecipes;
 import com.klikli_dev.occultism.registry.OccultismTiles;
 import com.klikli_dev.occultism.util.EntityUtil;
-import com.mojang.datafixers.util.Pair;
-import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.Containers;
@@ -55,8 +50,6 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.Rotation;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.capabilities.Capability;
@@ -65,16 +58,23 @@ import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent.RightClickItem;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemStackHandler;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.Map.Entry;
 import java.util.function.Consumer;
 
 public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity {
 
+    /**
+     * How often (in ticks) the bowl attempts to restore a casting player that went offline.
+     */
+    public static final int RESTORE_CASTING_PLAYER_INTERVAL = 20 * 30;
+
     public RitualRecipe currentRitualRecipe;
     public ResourceLocation currentRitualRecipeId;
     public UUID castingPlayerId;
@@ -84,9 +84,17 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
     public boolean sacrificeProvided;
     public boolean itemUseProvided;
     public int currentTime;
+    /**
+     * The game time at which the ritual needs to be processed next.
+     * Not persisted, after loading the ritual is processed on the next tick.
+     */
+    public long nextWakeTime;
+    public RitualPhase phase = RitualPhase.NONE;
 
     public Consumer<RightClickItem> rightClickItemListener;
     public Consumer<LivingDeathEvent> livingDeathEventListener;
+    public Consumer<BlockEvent.BreakEvent> blockBreakListener;
+    public Consumer<BlockEvent.EntityPlaceEvent> blockPlaceListener;
 
 
     public GoldenSacrificialBowlBlockEntity(BlockPos worldPos, BlockState state) {
@@ -94,144 +102,8 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
 
         this.rightClickItemListener = this::onPlayerRightClickItem;
         this.livingDeathEventListener = this::onLivingDeath;
-    }
-
-    // If we find pentacle that almost matches block in the world, then print help
-    private static boolean helpWithPentacle(Level level, BlockPos pos, Player player) {
-        Map<BlockPos, Block> pentacleDiff = null;
-        Map<BlockPos, Block> bestPentacleDiff = null;
-
-        var pentacleMultiblocks = level.getRecipeManager().getAllRecipesFor(OccultismRecipes.RITUAL_TYPE.get())
-                .stream().map(RitualRecipe::getPentacleId).distinct().map(ModonomiconAPI.get()::getMultiblock).toList();
-
-        Multiblock bestMatch = null;
-        for (var pentacle : pentacleMultiblocks) {
-            pentacleDiff = getDifference(pentacle, level, pos);
-            if (bestPentacleDiff == null || bestPentacleDiff.size() > pentacleDiff.size()) {
-                bestPentacleDiff = pentacleDiff;
-                bestMatch = pentacle;
-            }
-        }
-
-        if (bestPentacleDiff != null && !bestPentacleDiff.isEmpty() && bestPentacleDiff.size() < 4) {
-            //tell player which pentacle he was probably trying to build
-            player.displayClientMessage(
-                    Component.translatable("ritual." + Occultism.MODID + ".pentacle_help",
-                            Component.translatable(Util.makeDescriptionId("multiblock", bestMatch.getId())), pentacleDiffToComponent(bestPentacleDiff)),
-                    false);
-            return true;
-        } else if (bestPentacleDiff != null && !bestPentacleDiff.isEmpty()) {
-            //player probably doesn't have a pentacle at all
-            player.displayClientMessage(
-                    Component.translatable("ritual." + Occultism.MODID + ".pentacle_help.no_pentacle"), false);
-            return true;
-        }
-        return false;
-    }
-
-    private static MutableComponent pentacleDiffToComponent(Map<BlockPos, Block> bestPentacleDiff) {
-        var text = Component.literal("");
-
-        for (Entry<BlockPos, Block> entry : bestPentacleDiff.entrySet()) {
-            text.append(Component.translatable(entry.getValue().getDescriptionId()));
-            text.append(Component.translatable("ritual." + Occultism.MODID + ".pentacle_help_at_glue"));
-            BlockPos pos = entry.getKey();
-            text.append(Component.literal("x: " + pos.getX() + ", y: " + pos.getY() + ", z: " + pos.getZ() + "\n"));
-        }
-
-        return text;
-    }
-
-    // If we find ritual with ingredients that almost matches bowls, then print help
-    private static boolean helpWithRitual(Level level, BlockPos pos, Player player, ItemStack activationItem) {
-        List<Ingredient> ritualDiff = null;
-        List<Ingredient> bestRitualDiff = null;
-        RitualRecipe bestRitual = null;
-
-        var pentacleMultiblocks = level.getRecipeManager().getAllRecipesFor(OccultismRecipes.RITUAL_TYPE.get())
-                .stream().map(RitualRecipe::getPentacleId).distinct().map(ModonomiconAPI.get()::getMultiblock);
-
-        var pentacle = pentacleMultiblocks.filter(p -> p.validate(level, pos) != null).findFirst();
-
-        if (pentacle.isEmpty())
-            return false;
-
-
-        for (RitualRecipe recipe : level.getRecipeManager().getAllRecipesFor(OccultismRecipes.RITUAL_TYPE.get())) {
-            if (recipe.getPentacle() != pentacle.orElseThrow())
-                continue;
-
-            ritualDiff = new ArrayList<>(recipe.getIngredients());
-            List<ItemStack> items = recipe.getRitual().getItemsOnSacrificialBowls(level, pos);
-
-            boolean found = false;
-            for (int i = ritualDiff.size() - 1; i >= 0; i--) {
-                found = false;
-                for (int j = 0; j < items.size(); j++) {
-                    if (ritualDiff.get(i).test(items.get(j))) {
-                        items.remove(j);
-                        found = true;
-                        break;
-                    }
-                }
-                if (found)
-                    ritualDiff.remove(i);
-            }
-
-            if (bestRitualDiff == null || bestRitualDiff.size() > ritualDiff.size()) {
-                bestRitualDiff = ritualDiff;
-                bestRitual = recipe;
-            }
-        }
-
-        if (bestRitualDiff != null && !bestRitualDiff.isEmpty() && bestRitualDiff.size() < 4) {
-            player.displayClientMessage(
-                    Component.translatable("ritual." + Occultism.MODID + ".ritual_help", Component.translatable(bestRitual.getRitual().getStartedMessage()), ritualDiffToComponent(bestRitualDiff)),
-                    false);
-
-            return true;
-        }
-
-        return false;
-    }
-
-    private static Object ritualDiffToComponent(List<Ingredient> ritualDiff) {
-        Random rand = new Random();
-        var text = Component.literal("");
-
-        for (Ingredient ingredient : ritualDiff) {
-            if (ingredient.getItems().length == 0)
-                continue;
-
-            text.append(ingredient.getItems()[rand.nextInt(ingredient.getItems().length)].getDisplayName());
-            text.append("\n");
-        }
-
-        return text;
-    }
-
-    public static Map<BlockPos, Block> getDifference(Multiblock multiblock, Level level, BlockPos pos) {
-        Map<BlockPos, Block> minDifference = new HashMap<>();
-        int minDiffSize = Integer.MAX_VALUE;
-
-        Map<BlockPos, Block> difference;
-        for (Rotation rot : Rotation.values()) {
-            difference = new HashMap<>();
-            Pair<BlockPos, Collection<SimulateResult>> sim = multiblock.simulate(level, pos, rot, false, false);
-
-            for (SimulateResult result : sim.getSecond()) {
-                if (!result.test(level, rot)) {
-                    difference.put(result.getWorldPosition(), result.getStateMatcher().getDisplayedState(0).getBlock());
-                }
-            }
-
-            if (difference.size() < minDiffSize) {
-                minDifference = difference;
-                minDiffSize = difference.size();
-            }
-        }
-
-        return minDifference;
+        this.blockBreakListener = this::onBlockChanged;
+        this.blockPlaceListener = this::onBlockChanged;
     }
 
     public RitualRecipe getCurrentRitualRecipe() {
@@ -240,8 +112,7 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
                 Optional<? extends Recipe<?>> recipe = this.level.getRecipeManager().byKey(this.currentRitualRecipeId);
                 recipe.map(r -> (RitualRecipe) r).ifPresent(r -> this.currentRitualRecipe = r);
 
-                MinecraftForge.EVENT_BUS.addListener(this.rightClickItemListener);
-                MinecraftForge.EVENT_BUS.addListener(this.livingDeathEventListener);
+                this.registerListeners();
 
                 this.currentRitualRecipeId = null;
             }
@@ -250,8 +121,14 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
     }
 
     public void tick() {
+        if (this.level.isClientSide) {
+            this.animateTick();
+            return;
+        }
+
         RitualRecipe recipe = this.getCurrentRitualRecipe();
-        if (!this.level.isClientSide && recipe != null) {
+        //ritual time only advances in fixed intervals, in between there is nothing to do unless an event woke us up
+        if (recipe != null && this.level.getGameTime() >= this.nextWakeTime) {
             this.restoreCastingPlayer();
 
             if (this.remainingAdditionalIngredients == null) {
@@ -272,38 +149,16 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
                 return;
             }
 
+            this.updatePhase();
+            this.nextWakeTime = this.getNextWakeTime(this.level.getGameTime());
+
             //no casting player or if we do not have a sacrifice yet, we cannot advance time
-            if (this.castingPlayer == null || !this.sacrificeFulfilled() || !this.itemUseFulfilled()) {
-                if (this.level.random.nextInt(16) == 0) {
-                    ((ServerLevel) this.level)
-                            .sendParticles(OccultismParticles.RITUAL_WAITING.get(),
-                                    this.getBlockPos().getX() + this.level.random.nextGaussian(),
-                                    this.getBlockPos().getY() + 0.5, this.getBlockPos().getZ() + this.level.random.nextGaussian(),
-                                    3,
-                                    0.0, 0.0, 0.0,
-                                    0.0);
-                    ((ServerLevel) this.level)
-                            .sendParticles(OccultismParticles.RITUAL_WAITING.get(),
-                                    this.getBlockPos().getX() + this.level.random.nextGaussian(),
-                                    this.getBlockPos().getY() + 0.5, this.getBlockPos().getZ() + this.level.random.nextGaussian(),
-                                    3,
-                                    0.0, 0.0, 0.0,
-                                    0.0);
-                }
+            if (this.phase == RitualPhase.WAITING) {
                 return;
             }
 
-            //spawn particles in random intervals
-            if (this.level.random.nextInt(16) == 0) {
-                ((ServerLevel) this.level)
-                        .sendParticles(ParticleTypes.PORTAL, this.getBlockPos().getX() + 0.5 + this.level.random.nextGaussian() / 3,
-                                this.getBlockPos().getY() + 0.5, this.getBlockPos().getZ() + 0.5 + this.level.random.nextGaussian() / 3, 5,
-                                0.0, 0.0, 0.0,
-                                0.0);
-            }
-
             //Advance ritual time every second, based on the standard 20 tps, but taking into account duration multiplier
-            if (this.level.getGameTime() % ((int) (20 * Occultism.SERVER_CONFIG.rituals.ritualDurationMultiplier.get())) == 0)
+            if (this.level.getGameTime() % getTimeAdvanceInterval() == 0)
                 this.currentTime++;
 
             recipe
@@ -311,24 +166,97 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
                     .update(this.level, this.getBlockPos(), this, this.castingPlayer, handler.getStackInSlot(0),
                             this.currentTime);
 
+            int batchSize = this.getBatchSize();
             if (!recipe
                     .getRitual()
                     .consumeAdditionalIngredients(this.level, this.getBlockPos(), this.remainingAdditionalIngredients,
-                            this.currentTime, this.consumedIngredients)) {
+                            this.currentTime, this.consumedIngredients, batchSize)) {
                 //if ingredients cannot be found, interrupt
                 this.stopRitual(false);
                 return;
             }
 
-            if (recipe.getDuration() >= 0 && this.currentTime >= recipe.getDuration())
+            int duration = recipe.getRitual().getDuration(batchSize);
+            if (duration >= 0 && this.currentTime >= duration)
                 this.stopRitual(true);
         }
     }
 
+    /**
+     * Spawns the ritual particles on the client, based on the synced ritual phase.
+     */
+    public void animateTick() {
+        if (this.phase == RitualPhase.WAITING) {
+            EffectParticles.ritualWaiting(this.level, this.getBlockPos());
+        } else if (this.phase == RitualPhase.RUNNING) {
+            EffectParticles.ritualRunning(this.level, this.getBlockPos());
+        }
+    }
+
+    /**
+     * Gets the number of ticks after which ritual time advances by one.
+     */
+    public static int getTimeAdvanceInterval() {
+        return Math.max(1, (int) (20 * Occultism.SERVER_CONFIG.rituals.ritualDurationMultiplier.get()));
+    }
+
+    /**
+     * Gets the next game time at which the ritual needs to be processed.
+     * Ingredient consumption and the ritual end only happen when ritual time advances, so the next time advancement
+     * is the latest point to wake up. Events (sacrifices, item use, block changes) wake up the ritual earlier.
+     *
+     * @param gameTime the current game time.
+     * @return the game time to process the ritual at next.
+     */
+    public long getNextWakeTime(long gameTime) {
+        int interval = getTimeAdvanceInterval();
+        long next = gameTime - gameTime % interval + interval;
+        if (this.castingPlayer == null && this.castingPlayerId != null) {
+            next = Math.min(next, gameTime - gameTime % RESTORE_CASTING_PLAYER_INTERVAL + RESTORE_CASTING_PLAYER_INTERVAL);
+        }
+        return next;
+    }
+
+    /**
+     * Gets the amount of times the current ritual is performed at once.
+     * The golden bowl holds one activation item per batched ritual.
+     */
+    public int getBatchSize() {
+        return this.itemStackHandler.map(handler -> Math.max(1, handler.getStackInSlot(0).getCount())).orElse(1);
+    }
+
+    /**
+     * Causes the ritual to be processed on the next tick.
+     */
+    public void wake() {
+        this.nextWakeTime = 0;
+    }
+
+    protected void updatePhase() {
+        RitualPhase phase = RitualPhase.NONE;
+        if (this.getCurrentRitualRecipe() != null) {
+            phase = this.castingPlayer == null || !this.sacrificeFulfilled() || !this.itemUseFulfilled() ?
+                    RitualPhase.WAITING : RitualPhase.RUNNING;
+        }
+
+        if (phase != this.phase) {
+            this.phase = phase;
+            this.markNetworkDirty();
+        }
+    }
+
+    protected void registerListeners() {
+        MinecraftForge.EVENT_BUS.addListener(this.rightClickItemListener);
+        MinecraftForge.EVENT_BUS.addListener(this.livingDeathEventListener);
+        //the listeners share a handler, so the event types need to be given explicitly
+        MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, BlockEvent.BreakEvent.class, this.blockBreakListener);
+        MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, BlockEvent.EntityPlaceEvent.class, this.blockPlaceListener);
+    }
+
     public void restoreCastingPlayer() {
         //every 30 seconds try to restore the casting player
         if (this.castingPlayer == null && this.castingPlayerId != null &&
-                this.level.getGameTime() % (20 * 30) == 0) {
+                this.level.getGameTime() % RESTORE_CASTING_PLAYER_INTERVAL == 0) {
             this.castingPlayer = EntityUtil.getPlayerByUuiDGlobal(this.castingPlayerId).orElse(null);
             this.setChanged();
             this.markNetworkDirty();
@@ -350,7 +278,7 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
             if (this.getCurrentRitualRecipe() == null) {
                 //Identify the ritual in the ritual registry.
 
-                RitualRecipe ritualRecipe = this.level.getRecipeManager().getAllRecipesFor(OccultismRecipes.RITUAL_TYPE.get()).stream().filter(
+                RitualRecipe ritualRecipe = OccultismRecipeCache.get(level).getRitualRecipes(activationItem).stream().filter(
                         r -> r.matches(level, pos, activationItem)
                 ).findFirst().orElse(null);
 
@@ -370,13 +298,8 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
                                 Component.translatable(String.format("ritual.%s.book_not_bound", Occultism.MODID)),
                                 false);
                     } else {
-                        if (!helpWithPentacle(level, pos, player)) {
-                            if (!helpWithRitual(level, pos, player, activationItem)) {
-                                player.displayClientMessage(
-                                        Component.translatable(String.format("ritual.%s.does_not_exist", Occultism.MODID)),
-                                        false);
-                            }
-                        }
+                        //finding the closest pentacle is expensive, so it is done off-thread
+                        RitualHelpManager.requestHelp((ServerLevel) level, pos, player);
                     }
                     return false;
                 }
@@ -396,15 +319,18 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
             this.sacrificeProvided = false;
             this.itemUseProvided = false;
             this.consumedIngredients.clear();
-            this.remainingAdditionalIngredients = new ArrayList<>(this.currentRitualRecipe.getIngredients());
-            //place activation item in handler
-            IItemHandler handler = this.itemStackHandler.orElseThrow(ItemHandlerMissingException::new);
-            handler.insertItem(0, activationItem.split(1), false);
+            //if the player provided enough activation items and ingredients, perform the ritual multiple times at once
+            int batchSize = this.currentRitualRecipe.getRitual().getMaxBatchSize(this.level, this.getBlockPos(), activationItem);
+            this.remainingAdditionalIngredients = this.currentRitualRecipe.getRitual().getAdditionalIngredients(batchSize);
+            //place activation item in handler, bypassing the slot limit so batches can keep their whole stack
+            ItemStackHandler handler = this.itemStackHandler.orElseThrow(ItemHandlerMissingException::new);
+            handler.setStackInSlot(0, activationItem.split(batchSize));
             this.currentRitualRecipe.getRitual().start(this.level, this.getBlockPos(), this, player, handler.getStackInSlot(0));
 
 
-            MinecraftForge.EVENT_BUS.addListener(this.rightClickItemListener);
-            MinecraftForge.EVENT_BUS.addListener(this.livingDeathEventListener);
+            this.registerListeners();
+            this.wake();
+            this.updatePhase();
 
             this.setChanged();
             this.markNetworkDirty();
@@ -424,9 +350,9 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
                 } else {
                     recipe.getRitual().interrupt(this.level, this.getBlockPos(), this, this.castingPlayer,
                             handler.getStackInSlot(0));
-                    //Pop activation item back into level
+                    //Pop activation item(s) back into level
                     Containers.dropItemStack(this.level, this.getBlockPos().getX(), this.getBlockPos().getY(), this.getBlockPos().getZ(),
-                            handler.extractItem(0, 1, false));
+                            handler.extractItem(0, handler.getStackInSlot(0).getCount(), false));
                 }
             }
             this.currentRitualRecipe = null;
@@ -439,8 +365,12 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
                 this.remainingAdditionalIngredients.clear();
             this.consumedIngredients.clear();
 
+            this.phase = RitualPhase.NONE;
+
             MinecraftForge.EVENT_BUS.unregister(this.rightClickItemListener);
             MinecraftForge.EVENT_BUS.unregister(this.livingDeathEventListener);
+            MinecraftForge.EVENT_BUS.unregister(this.blockBreakListener);
+            MinecraftForge.EVENT_BUS.unregister(this.blockPlaceListener);
 
             this.setChanged();
             this.markNetworkDirty();
@@ -457,10 +387,20 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
 
     public void notifySacrifice(LivingEntity entityLivingBase) {
         this.sacrificeProvided = true;
+        this.wake();
     }
 
     public void notifyItemUse(PlayerInteractEvent.RightClickItem event) {
         this.itemUseProvided = true;
+        this.wake();
+    }
+
+    public void onBlockChanged(BlockEvent event) {
+        if (event.getLevel() == this.level && this.getCurrentRitualRecipe() != null &&
+                this.getBlockPos().distSqr(event.getPos()) <= Ritual.BLOCK_CHANGE_DETECTION_RANGE_SQUARE) {
+            //re-validate the pentacle and bowls right away instead of waiting for the next time advancement
+            this.wake();
+        }
     }
 
     public void onPlayerRightClickItem(PlayerInteractEvent.RightClickItem event) {
@@ -503,11 +443,13 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
             //this sets the signal that loading didn't go right -> will reattempt during tick()
             this.remainingAdditionalIngredients = null;
         } else {
+            List<Ingredient> additionalIngredients =
+                    this.getCurrentRitualRecipe().getRitual().getAdditionalIngredients(this.getBatchSize());
             if (this.consumedIngredients.size() > 0) {
                 this.remainingAdditionalIngredients = Ritual.getRemainingAdditionalIngredients(
-                        this.getCurrentRitualRecipe().getIngredients(), this.consumedIngredients);
+                        additionalIngredients, this.consumedIngredients);
             } else {
-                this.remainingAdditionalIngredients = new ArrayList<>(this.getCurrentRitualRecipe().getIngredients());
+                this.remainingAdditionalIngredients = additionalIngredients;
             }
         }
 
@@ -564,6 +506,7 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
         }
 
         this.currentTime = compound.getInt("currentTime");
+        this.phase = RitualPhase.byOrdinal(compound.getByte("phase"));
     }
 
     @Override
@@ -576,6 +519,7 @@ public class GoldenSacrificialBowlBlockEntity extends SacrificialBowlBlockEntity
             compound.putUUID("castingPlayerId", this.castingPlayerId);
         }
         compound.putInt("currentTime", this.currentTime);
+        compound.putByte("phase", (byte) this.phase.ordinal());
         return super.saveNetwork(compound);
     }
 }
@@ -109,6 +109,18 @@ public class StableWormholeBlockEntity extends NetworkedBlockEntity implements I
         return Component.literal(ForgeRegistries.BLOCK_ENTITY_TYPES.getKey(this.getType()).getPath());
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        StorageProxyRegistry.register(this);
+    }
+
+    @Override
+    public void setRemoved() {
+        StorageProxyRegistry.unregister(this);
+        super.setRemoved();
+    }
+
     @Override
     public IStorageController getLinkedStorageController() {
         if (this.linkedStorageControllerPosition != null) {
@@ -127,6 +139,7 @@ public class StableWormholeBlockEntity extends NetworkedBlockEntity implements I
                 //if we are on logical client it simply means we are out of render range, so we do not reset the pos
                 //resetting it would cause issues with e.g. stable wormhole
                 this.linkedStorageControllerPosition = null;
+                StorageProxyRegistry.register(this);
                 this.level.setBlock(this.getBlockPos(), this.getBlockState().setValue(StableWormholeBlock.LINKED, false), 2);
             }
         }
@@ -141,6 +154,7 @@ public class StableWormholeBlockEntity extends NetworkedBlockEntity implements I
     @Override
     public void setLinkedStorageControllerPosition(GlobalBlockPos blockPos) {
         this.linkedStorageControllerPosition = blockPos;
+        StorageProxyRegistry.register(this);
     }
 
     @Nonnull
@@ -157,9 +171,12 @@ public class StableWormholeBlockEntity extends NetworkedBlockEntity implements I
 
     @Override
     public void loadNetwork(CompoundTag compound) {
-        if (compound.contains("linkedStorageControllerPosition"))
+        if (compound.contains("linkedStorageControllerPosition")) {
             this.linkedStorageControllerPosition = GlobalBlockPos.from(compound.getCompound(
                     "linkedStorageControllerPosition"));
+            //e.g. when placed from an item that carries the link
+            StorageProxyRegistry.register(this);
+        }
 
         this.setSortDirection(SortDirection.get(compound.getInt("sortDirection")));
         this.setSortType(SortType.get(compound.getInt("sortType")));
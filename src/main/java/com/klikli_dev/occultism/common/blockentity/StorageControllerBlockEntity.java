@@ -79,6 +79,7 @@ import software.bernie.geckolib.util.GeckoLibUtil;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -95,6 +96,10 @@ public class StorageControllerBlockEntity extends NetworkedBlockEntity implement
     public ItemStack orderStack = ItemStack.EMPTY;
     public Map<GlobalBlockPos, MachineReference> linkedMachines = new HashMap<>();
     public Map<GlobalBlockPos, UUID> depositOrderSpirits = new HashMap<>();
+    /**
+     * Resolved deposit order spirits, to avoid looking them up in all levels for every order.
+     */
+    protected Map<GlobalBlockPos, WeakReference<SpiritEntity>> depositOrderSpiritCache = new HashMap<>();
     protected SortDirection sortDirection = SortDirection.DOWN;
     protected SortType sortType = SortType.AMOUNT;
     protected ItemStackHandler itemStackHandlerInternal = new StorageControllerItemStackHandler(this,
@@ -209,6 +214,18 @@ public class StorageControllerBlockEntity extends NetworkedBlockEntity implement
         return Component.literal(ForgeRegistries.BLOCK_ENTITY_TYPES.getKey(this.getType()).getPath());
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        StorageProxyRegistry.register(this);
+    }
+
+    @Override
+    public void setRemoved() {
+        StorageProxyRegistry.unregister(this);
+        super.setRemoved();
+    }
+
     @Override
     public IStorageController getLinkedStorageController() {
         return this;
@@ -328,8 +345,7 @@ public class StorageControllerBlockEntity extends NetworkedBlockEntity implement
         if (!stack.isEmpty()) {
             UUID spiritUUID = this.depositOrderSpirits.get(linkedMachinePosition);
             if (spiritUUID != null) {
-                EntityUtil.getEntityByUuiDGlobal(this.level.getServer(),
-                                spiritUUID).filter(SpiritEntity.class::isInstance).map(SpiritEntity.class::cast)
+                this.getDepositOrderSpirit(linkedMachinePosition, spiritUUID)
                         .ifPresent(spirit -> {
                             Optional<ManageMachineJob> job = spirit.getJob().filter(ManageMachineJob.class::isInstance)
                                     .map(ManageMachineJob.class::cast);
@@ -346,15 +362,32 @@ public class StorageControllerBlockEntity extends NetworkedBlockEntity implement
         }
     }
 
+    protected Optional<SpiritEntity> getDepositOrderSpirit(GlobalBlockPos linkedMachinePosition, UUID spiritUUID) {
+        WeakReference<SpiritEntity> cached = this.depositOrderSpiritCache.get(linkedMachinePosition);
+        SpiritEntity cachedSpirit = cached != null ? cached.get() : null;
+        if (cachedSpirit != null && !cachedSpirit.isRemoved() && cachedSpirit.getUUID().equals(spiritUUID))
+            return Optional.of(cachedSpirit);
+
+        Optional<SpiritEntity> spirit = EntityUtil.getEntityByUuiDGlobal(this.level.getServer(), spiritUUID)
+                .filter(SpiritEntity.class::isInstance).map(SpiritEntity.class::cast);
+        if (spirit.isPresent())
+            this.depositOrderSpiritCache.put(linkedMachinePosition, new WeakReference<>(spirit.get()));
+        else
+            this.depositOrderSpiritCache.remove(linkedMachinePosition);
+        return spirit;
+    }
+
     @Override
     public void addDepositOrderSpirit(GlobalBlockPos linkedMachinePosition, UUID spiritId) {
         this.depositOrderSpirits.put(linkedMachinePosition, spiritId);
+        this.depositOrderSpiritCache.remove(linkedMachinePosition);
     }
 
     @Override
     public void removeDepositOrderSpirit(GlobalBlockPos linkedMachinePosition) {
         this.linkedMachines.remove(linkedMachinePosition);
         this.depositOrderSpirits.remove(linkedMachinePosition);
+        this.depositOrderSpiritCache.remove(linkedMachinePosition);
     }
 
     @Override
@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.blockentity;
+
+import com.klikli_dev.occultism.api.common.blockentity.IStorageControllerProxy;
+import com.klikli_dev.occultism.api.common.data.GlobalBlockPos;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Keeps track of the loaded storage controller proxies (controllers and stable wormholes) linked to each storage
+ * controller, so spirits can find the closest proxy without scanning their work area.
+ * Proxies register when loaded or relinked and unregister when removed or unloaded. Only used on the server thread.
+ */
+public class StorageProxyRegistry {
+
+    private static final Map<GlobalBlockPos, Set<GlobalBlockPos>> proxiesByController = new HashMap<>();
+    private static final Map<GlobalBlockPos, GlobalBlockPos> controllerByProxy = new HashMap<>();
+
+    /**
+     * Registers the proxy with its currently linked controller, replacing a previous registration.
+     */
+    public static <T extends BlockEntity & IStorageControllerProxy> void register(T proxy) {
+        Level level = proxy.getLevel();
+        if (level == null || level.isClientSide)
+            return;
+
+        unregister(proxy);
+        GlobalBlockPos controllerPosition = proxy.getLinkedStorageControllerPosition();
+        if (controllerPosition != null) {
+            GlobalBlockPos proxyPosition = new GlobalBlockPos(proxy.getBlockPos(), level);
+            controllerByProxy.put(proxyPosition, controllerPosition);
+            proxiesByController.computeIfAbsent(controllerPosition, k -> new HashSet<>()).add(proxyPosition);
+        }
+    }
+
+    public static <T extends BlockEntity & IStorageControllerProxy> void unregister(T proxy) {
+        Level level = proxy.getLevel();
+        if (level == null || level.isClientSide)
+            return;
+
+        GlobalBlockPos proxyPosition = new GlobalBlockPos(proxy.getBlockPos(), level);
+        GlobalBlockPos controllerPosition = controllerByProxy.remove(proxyPosition);
+        if (controllerPosition != null) {
+            Set<GlobalBlockPos> proxies = proxiesByController.get(controllerPosition);
+            if (proxies != null) {
+                proxies.remove(proxyPosition);
+                if (proxies.isEmpty())
+                    proxiesByController.remove(controllerPosition);
+            }
+        }
+    }
+
+    public static void clear() {
+        proxiesByController.clear();
+        controllerByProxy.clear();
+    }
+
+    /**
+     * Finds the closest loaded proxy linked to the given controller within the given area.
+     *
+     * @param level              the level to search in.
+     * @param controllerPosition the storage controller the proxy needs to be linked to.
+     * @param area               the area to search in.
+     * @param sorter             the comparator that determines the closest proxy.
+     * @return the closest proxy, or null if there is none.
+     */
+    @Nullable
+    public static BlockEntity findClosestProxy(Level level, GlobalBlockPos controllerPosition, BoundingBox area, Comparator<BlockPos> sorter) {
+        Set<GlobalBlockPos> proxies = proxiesByController.get(controllerPosition);
+        if (proxies == null)
+            return null;
+
+        List<BlockPos> candidates = new ArrayList<>();
+        for (GlobalBlockPos proxy : proxies) {
+            if (proxy.getDimensionKey().equals(level.dimension()) && area.isInside(proxy.getPos()))
+                candidates.add(proxy.getPos());
+        }
+        candidates.sort(sorter);
+
+        for (BlockPos pos : candidates) {
+            //the registry only holds loaded proxies, but double check the link in case it changed without notice
+            if (level.isLoaded(pos) && level.getBlockEntity(pos) instanceof IStorageControllerProxy proxy
+                    && controllerPosition.equals(proxy.getLinkedStorageControllerPosition()))
+                return (BlockEntity) proxy;
+        }
+        return null;
+    }
+}
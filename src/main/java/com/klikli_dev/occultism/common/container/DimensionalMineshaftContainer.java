@@ -144,6 +144,13 @@ public class DimensionalMineshaftContainer extends AbstractContainerMenu {
             return RecipeUtil.isValidIngredient(recipeManager, OccultismRecipes.MINER_TYPE.get(), stack);
         }
 
+        @Override
+        public void setChanged() {
+            //the stack may have been modified in place, which the handler does not notice
+            DimensionalMineshaftContainer.this.otherworldMiner.markInputChanged();
+            super.setChanged();
+        }
+
     }
 
     public class OutputSlot extends SlotItemHandler {
@@ -156,5 +163,12 @@ public class DimensionalMineshaftContainer extends AbstractContainerMenu {
             return false;
         }
 
+        @Override
+        public void setChanged() {
+            //the stack may have been modified in place, which the handler does not notice
+            DimensionalMineshaftContainer.this.otherworldMiner.markOutputChanged();
+            super.setChanged();
+        }
+
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.entity;
+
+import com.klikli_dev.occultism.common.entity.familiar.IFamiliar;
+import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
+import com.klikli_dev.occultism.common.entity.spirit.demonicpartner.DemonicPartner;
+import net.minecraft.world.entity.Entity;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps track of the loaded entities Occultism looks up by uuid (spirits, familiars and demonic partners), so they
+ * can be found with a single map lookup instead of probing every level.
+ * Entities are registered when they join a level and unregistered when they leave it. Only used on the server thread.
+ */
+public class TrackedEntityRegistry {
+
+    private static final Map<UUID, WeakReference<Entity>> entities = new HashMap<>();
+
+    public static boolean isTracked(Entity entity) {
+        return entity instanceof SpiritEntity || entity instanceof IFamiliar || entity instanceof DemonicPartner;
+    }
+
+    public static void onEntityJoin(Entity entity) {
+        if (!entity.level().isClientSide && isTracked(entity))
+            entities.put(entity.getUUID(), new WeakReference<>(entity));
+    }
+
+    public static void onEntityLeave(Entity entity) {
+        if (entity.level().isClientSide || !isTracked(entity))
+            return;
+
+        //on dimension change the new entity may join before the old one leaves, keep the new one in that case
+        WeakReference<Entity> reference = entities.get(entity.getUUID());
+        if (reference != null && (reference.get() == entity || reference.get() == null))
+            entities.remove(entity.getUUID());
+    }
+
+    /**
+     * Gets the loaded tracked entity with the given uuid.
+     *
+     * @param uuid the uuid of the entity.
+     * @return the entity, or null if it is not loaded or not a tracked entity.
+     */
+    @Nullable
+    public static Entity get(UUID uuid) {
+        WeakReference<Entity> reference = entities.get(uuid);
+        if (reference == null)
+            return null;
+
+        Entity entity = reference.get();
+        if (entity == null || entity.isRemoved()) {
+            entities.remove(uuid);
+            return null;
+        }
+        return entity;
+    }
+
+    public static void clear() {
+        entities.clear();
+    }
+}
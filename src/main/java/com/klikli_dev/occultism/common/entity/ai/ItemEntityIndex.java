@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.entity.ai;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Per-level index of item entities, bucketed by chunk section, shared by all item collecting spirits and familiars.
+ * Collectors can claim an item so other collectors do not chase the same one.
+ * Only accessed from the server thread, client levels fall back to regular entity queries.
+ */
+public class ItemEntityIndex {
+
+    public static final int CLAIM_DURATION_TICKS = 20 * 10;
+
+    private static final Map<ServerLevel, ItemEntityIndex> indices = new WeakHashMap<>();
+
+    private final ServerLevel level;
+    private final Long2ObjectMap<List<ItemEntity>> sections = new Long2ObjectOpenHashMap<>();
+    private final Object2LongMap<ItemEntity> itemSections = new Object2LongOpenHashMap<>();
+    private final Map<ItemEntity, Claim> claims = new HashMap<>();
+
+    protected ItemEntityIndex(ServerLevel level) {
+        this.level = level;
+    }
+
+    public static ItemEntityIndex get(ServerLevel level) {
+        return indices.computeIfAbsent(level, ItemEntityIndex::new);
+    }
+
+    public static void onEntityJoin(Entity entity) {
+        if (entity instanceof ItemEntity item && item.level() instanceof ServerLevel level)
+            get(level).add(item);
+    }
+
+    public static void onEntityLeave(Entity entity) {
+        if (entity instanceof ItemEntity item && item.level() instanceof ServerLevel level) {
+            ItemEntityIndex index = indices.get(level);
+            if (index != null)
+                index.remove(item);
+        }
+    }
+
+    public static void onEntityMove(Entity entity) {
+        if (entity instanceof ItemEntity item && item.level() instanceof ServerLevel level) {
+            ItemEntityIndex index = indices.get(level);
+            if (index != null && index.itemSections.containsKey(item)) {
+                index.remove(item);
+                index.add(item);
+            }
+        }
+    }
+
+    public static void onLevelUnload(Level level) {
+        if (level instanceof ServerLevel serverLevel)
+            indices.remove(serverLevel);
+    }
+
+    /**
+     * Gets the item entities within the given box that match the predicate.
+     * Uses the index on the server and falls back to a regular entity query on the client.
+     */
+    public static List<ItemEntity> getItems(Level level, AABB box, Predicate<ItemEntity> predicate) {
+        if (level instanceof ServerLevel serverLevel)
+            return get(serverLevel).getItems(box, predicate);
+        return level.getEntitiesOfClass(ItemEntity.class, box, predicate);
+    }
+
+    protected void add(ItemEntity item) {
+        long key = SectionPos.asLong(item.blockPosition());
+        this.itemSections.put(item, key);
+        this.sections.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+    }
+
+    protected void remove(ItemEntity item) {
+        if (!this.itemSections.containsKey(item))
+            return;
+
+        long key = this.itemSections.removeLong(item);
+        List<ItemEntity> section = this.sections.get(key);
+        if (section != null) {
+            section.remove(item);
+            if (section.isEmpty())
+                this.sections.remove(key);
+        }
+        if (item.isRemoved())
+            this.claims.remove(item);
+    }
+
+    /**
+     * Gets the living item entities within the given box that match the predicate.
+     */
+    public List<ItemEntity> getItems(AABB box, Predicate<ItemEntity> predicate) {
+        List<ItemEntity> result = new ArrayList<>();
+        int minX = SectionPos.blockToSectionCoord(Mth.floor(box.minX));
+        int minY = SectionPos.blockToSectionCoord(Mth.floor(box.minY));
+        int minZ = SectionPos.blockToSectionCoord(Mth.floor(box.minZ));
+        int maxX = SectionPos.blockToSectionCoord(Mth.floor(box.maxX));
+        int maxY = SectionPos.blockToSectionCoord(Mth.floor(box.maxY));
+        int maxZ = SectionPos.blockToSectionCoord(Mth.floor(box.maxZ));
+
+        //iterate whichever is smaller, the sections in the box or the sections that contain items
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1) <= this.sections.size()) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        List<ItemEntity> section = this.sections.get(SectionPos.asLong(x, y, z));
+                        if (section != null)
+                            this.collect(section, box, predicate, result);
+                    }
+                }
+            }
+        } else {
+            for (Long2ObjectMap.Entry<List<ItemEntity>> entry : this.sections.long2ObjectEntrySet()) {
+                long key = entry.getLongKey();
+                int x = SectionPos.x(key);
+                int y = SectionPos.y(key);
+                int z = SectionPos.z(key);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ)
+                    this.collect(entry.getValue(), box, predicate, result);
+            }
+        }
+        return result;
+    }
+
+    protected void collect(List<ItemEntity> section, AABB box, Predicate<ItemEntity> predicate, List<ItemEntity> result) {
+        for (ItemEntity item : section) {
+            if (item.isAlive() && box.intersects(item.getBoundingBox()) && predicate.test(item))
+                result.add(item);
+        }
+    }
+
+    /**
+     * Gets the nearest living, unclaimed (or claimed by the collector) item entity within the given box that matches
+     * the predicate.
+     */
+    @Nullable
+    public ItemEntity getNearestUnclaimed(AABB box, Entity collector, Predicate<ItemEntity> predicate) {
+        Vec3 position = collector.position();
+        ItemEntity nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (ItemEntity item : this.getItems(box, item -> !this.isClaimedByOther(item, collector) && predicate.test(item))) {
+            double distance = item.distanceToSqr(position);
+            if (distance < nearestDistance) {
+                nearest = item;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Claims the item for the collector for {@link #CLAIM_DURATION_TICKS}, or refreshes an existing claim.
+     *
+     * @return false if the item is already claimed by another collector.
+     */
+    public boolean claim(ItemEntity item, Entity collector) {
+        if (this.isClaimedByOther(item, collector))
+            return false;
+        this.claims.put(item, new Claim(collector.getUUID(), this.level.getGameTime() + CLAIM_DURATION_TICKS));
+        return true;
+    }
+
+    public void release(ItemEntity item, Entity collector) {
+        Claim claim = this.claims.get(item);
+        if (claim != null && claim.collector.equals(collector.getUUID()))
+            this.claims.remove(item);
+    }
+
+    public boolean isClaimedByOther(ItemEntity item, Entity collector) {
+        Claim claim = this.claims.get(item);
+        if (claim == null)
+            return false;
+        if (claim.expiry < this.level.getGameTime()) {
+            this.claims.remove(item);
+            return false;
+        }
+        return !claim.collector.equals(collector.getUUID());
+    }
+
+    protected record Claim(UUID collector, long expiry) {
+    }
+}
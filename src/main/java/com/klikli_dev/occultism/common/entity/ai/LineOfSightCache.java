@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.entity.ai;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Per-level cache of line of sight checks between spirits and their targets, to avoid raycasting every tick.
+ * Results are keyed by the block position of the spirit and of the target, the eye height of the spirit and the kind of
+ * check, as different checks raycast differently. Results are dropped after
+ * {@link #CACHE_DURATION_TICKS} or as soon as a block changes in a chunk section between the two.
+ * Only accessed from the server thread, client levels always raycast.
+ */
+public class LineOfSightCache {
+
+    public static final int CACHE_DURATION_TICKS = 20;
+
+    private static final Map<ServerLevel, LineOfSightCache> caches = new WeakHashMap<>();
+
+    private final ServerLevel level;
+    private final Object2ObjectMap<Key, Entry> entries = new Object2ObjectOpenHashMap<>();
+    private final Long2LongMap sectionChangeTimes = new Long2LongOpenHashMap();
+    private long lastPruneTime;
+
+    protected LineOfSightCache(ServerLevel level) {
+        this.level = level;
+    }
+
+    public static LineOfSightCache get(ServerLevel level) {
+        return caches.computeIfAbsent(level, LineOfSightCache::new);
+    }
+
+    /**
+     * Checks if the entity can see the target position.
+     *
+     * @param entity  the looking entity.
+     * @param target  the target position.
+     * @param check   the kind of check the raycast performs.
+     * @param raycast the actual line of sight check, only called if there is no valid cached result.
+     * @return true if the target is visible.
+     */
+    public static boolean canSee(Entity entity, BlockPos target, Check check, BooleanSupplier raycast) {
+        BlockPos from = entity.blockPosition();
+        //nothing can be in between if we are right next to the target block
+        if (check != Check.EYES_TO_ENTITY &&
+                (from.distManhattan(target) <= 1 || BlockPos.containing(entity.getEyePosition()).distManhattan(target) <= 1))
+            return true;
+
+        if (entity.level() instanceof ServerLevel level)
+            return get(level).canSee(new Key(from.asLong(), target.asLong(), entity.getEyeHeight(), check), from, target, raycast);
+        return raycast.getAsBoolean();
+    }
+
+    public static void onBlockChanged(LevelAccessor level, BlockPos pos) {
+        if (level instanceof ServerLevel serverLevel) {
+            LineOfSightCache cache = caches.get(serverLevel);
+            if (cache != null)
+                cache.sectionChangeTimes.put(SectionPos.asLong(pos), serverLevel.getGameTime());
+        }
+    }
+
+    public static void onLevelUnload(Level level) {
+        if (level instanceof ServerLevel serverLevel) {
+            caches.remove(serverLevel);
+        }
+    }
+
+    public boolean canSee(Key key, BlockPos from, BlockPos target, BooleanSupplier raycast) {
+        long gameTime = this.level.getGameTime();
+        this.prune(gameTime);
+
+        Entry entry = this.entries.get(key);
+        if (entry != null && this.isValid(entry, from, target, gameTime))
+            return entry.visible;
+
+        boolean visible = raycast.getAsBoolean();
+        this.entries.put(key, new Entry(visible, gameTime));
+        return visible;
+    }
+
+    protected boolean isValid(Entry entry, BlockPos from, BlockPos target, long gameTime) {
+        if (gameTime - entry.time >= CACHE_DURATION_TICKS)
+            return false;
+
+        //the ray stays within the box spanned by both positions, so only changes in those sections matter
+        int minX = SectionPos.blockToSectionCoord(Math.min(from.getX(), target.getX()));
+        int minY = SectionPos.blockToSectionCoord(Math.min(from.getY(), target.getY()));
+        int minZ = SectionPos.blockToSectionCoord(Math.min(from.getZ(), target.getZ()));
+        int maxX = SectionPos.blockToSectionCoord(Math.max(from.getX(), target.getX()));
+        int maxY = SectionPos.blockToSectionCoord(Math.max(from.getY(), target.getY()));
+        int maxZ = SectionPos.blockToSectionCoord(Math.max(from.getZ(), target.getZ()));
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    long changeTime = this.sectionChangeTimes.getOrDefault(SectionPos.asLong(x, y, z), Long.MIN_VALUE);
+                    if (changeTime >= entry.time)
+                        return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    protected void prune(long gameTime) {
+        if (gameTime - this.lastPruneTime < CACHE_DURATION_TICKS)
+            return;
+
+        this.lastPruneTime = gameTime;
+        this.entries.values().removeIf(entry -> gameTime - entry.time >= CACHE_DURATION_TICKS);
+        this.sectionChangeTimes.long2LongEntrySet().removeIf(entry -> gameTime - entry.getLongValue() >= CACHE_DURATION_TICKS);
+    }
+
+    /**
+     * The kinds of line of sight checks, each caches separately.
+     */
+    public enum Check {
+        /**
+         * A block raycast from the feet of the entity to the target block.
+         */
+        FEET_TO_BLOCK,
+        /**
+         * A block raycast from the eyes of the entity to the target block.
+         */
+        EYES_TO_BLOCK,
+        /**
+         * {@link net.minecraft.world.entity.LivingEntity#hasLineOfSight(Entity)} to an entity at the target position.
+         */
+        EYES_TO_ENTITY
+    }
+
+    public record Key(long from, long target, float eyeHeight, Check check) {
+    }
+
+    protected record Entry(boolean visible, long time) {
+    }
+}
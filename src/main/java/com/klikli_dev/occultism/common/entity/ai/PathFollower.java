@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.entity.ai;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves a mob towards a target without pathfinding every tick.
+ * The current path is reused until the target moves, the path is finished or invalidated by the navigation, or
+ * {@link #REPLAN_INTERVAL_TICKS} pass. Computed paths are shared between mobs of the same type on the same route.
+ */
+public class PathFollower {
+
+    /**
+     * Targets that move less than this (squared) distance keep the current path.
+     * Covers goals that approach a block from the side closest to the mob, which changes while moving.
+     */
+    public static final double REPLAN_TARGET_DISTANCE_SQUARE = 2 * 2;
+    public static final int REPLAN_INTERVAL_TICKS = 20 * 2;
+    public static final int SHARED_PATH_MAX_AGE_TICKS = 20 * 5;
+    public static final int SHARED_PATH_CACHE_SIZE = 256;
+
+    //only accessed from the server thread
+    private static final Map<RouteKey, SharedPath> sharedPaths = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RouteKey, SharedPath> eldest) {
+            return this.size() > SHARED_PATH_CACHE_SIZE;
+        }
+    };
+
+    protected final Mob mob;
+    protected BlockPos target;
+    protected Path path;
+    protected long planTime;
+
+    public PathFollower(Mob mob) {
+        this.mob = mob;
+    }
+
+    public void moveTo(Entity target, double speed) {
+        this.moveTo(target.blockPosition(), speed);
+    }
+
+    /**
+     * Moves towards the given target, replanning only if necessary.
+     *
+     * @param target the target position.
+     * @param speed  the speed modifier.
+     */
+    public void moveTo(BlockPos target, double speed) {
+        long gameTime = this.mob.level().getGameTime();
+        if (!this.needsReplan(target, gameTime))
+            return;
+
+        this.target = target.immutable();
+        this.planTime = gameTime;
+        this.path = this.findPath(this.target, gameTime);
+        this.mob.getNavigation().moveTo(this.path, speed);
+    }
+
+    public void stop() {
+        this.mob.getNavigation().stop();
+        this.reset();
+    }
+
+    /**
+     * Forgets the current path, the next move will replan.
+     */
+    public void reset() {
+        this.target = null;
+        this.path = null;
+    }
+
+    protected boolean needsReplan(BlockPos target, long gameTime) {
+        if (this.target == null
+                || this.target.distSqr(target) > REPLAN_TARGET_DISTANCE_SQUARE
+                || gameTime - this.planTime >= REPLAN_INTERVAL_TICKS)
+            return true;
+
+        //if no path was found we wait for the interval instead of running a failing search every tick
+        if (this.path == null)
+            return false;
+
+        //navigation finished, got stuck or someone else took over.
+        //navigation keeps its own path object if handed an equal one, so compare nodes rather than identity
+        return this.mob.getNavigation().isDone() || !this.path.sameAs(this.mob.getNavigation().getPath());
+    }
+
+    @Nullable
+    protected Path findPath(BlockPos target, long gameTime) {
+        RouteKey key = new RouteKey(this.mob.level().dimension(), this.mob.getType(), this.mob.blockPosition(), target);
+        SharedPath shared = sharedPaths.get(key);
+        if (shared != null && gameTime - shared.createTime < SHARED_PATH_MAX_AGE_TICKS) {
+            //paths track their progress, so each mob needs its own copy
+            return copy(shared.path);
+        }
+
+        Path path = this.mob.getNavigation().createPath(target, 0);
+        if (path != null) {
+            sharedPaths.put(key, new SharedPath(copy(path), gameTime));
+        } else {
+            sharedPaths.remove(key);
+        }
+        return path;
+    }
+
+    /**
+     * Copies the given path with its progress reset. Nodes are only read and can be shared.
+     */
+    protected static Path copy(Path path) {
+        List<Node> nodes = new ArrayList<>(path.getNodeCount());
+        for (int i = 0; i < path.getNodeCount(); i++) {
+            nodes.add(path.getNode(i));
+        }
+        return new Path(nodes, path.getTarget(), path.canReach());
+    }
+
+    protected record RouteKey(ResourceKey<Level> dimension, EntityType<?> type, BlockPos start, BlockPos target) {
+    }
+
+    protected record SharedPath(Path path, long createTime) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.klikli_dev.occultism.common.entity.ai.behaviour;
 
+import com.klikli_dev.occultism.common.entity.ai.ItemEntityIndex;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
 import com.klikli_dev.occultism.exceptions.ItemHandlerMissingException;
 import com.klikli_dev.occultism.registry.OccultismMemoryTypes;
@@ -52,6 +53,7 @@ public class PickupItemBehaviour<E extends SpiritEntity> extends ExtendedBehavio
             jobItem.getItem().setCount(remaining.getCount());
         }
 
+        ItemEntityIndex.get((ServerLevel) entity.level()).release(jobItem, entity);
         BrainUtils.clearMemory(entity, MemoryModuleType.NEAREST_VISIBLE_WANTED_ITEM);
     }
 
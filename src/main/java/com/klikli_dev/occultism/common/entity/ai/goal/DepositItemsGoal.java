@@ -23,6 +23,7 @@
 package com.klikli_dev.occultism.common.entity.ai.goal;
 
 import com.klikli_dev.occultism.common.entity.ai.BlockSorter;
+import com.klikli_dev.occultism.common.entity.ai.PathFollower;
 import com.klikli_dev.occultism.common.entity.ai.target.BlockPosMoveTarget;
 import com.klikli_dev.occultism.common.entity.ai.target.EntityMoveTarget;
 import com.klikli_dev.occultism.common.entity.ai.target.IMoveTarget;
@@ -50,10 +51,12 @@ public class DepositItemsGoal extends PausableGoal {
 
     protected final SpiritEntity entity;
     protected final BlockSorter targetSorter;
+    protected final PathFollower pathFollower;
     protected IMoveTarget moveTarget = null;
 
     public DepositItemsGoal(SpiritEntity entity) {
         this.entity = entity;
+        this.pathFollower = new PathFollower(entity);
         this.targetSorter = new BlockSorter(entity);
         this.setFlags(EnumSet.of(Flag.TARGET));
     }
@@ -89,7 +92,7 @@ public class DepositItemsGoal extends PausableGoal {
     }
 
     public void stop() {
-        this.entity.getNavigation().stop();
+        this.pathFollower.stop();
         this.resetTarget();
     }
 
@@ -110,11 +113,11 @@ public class DepositItemsGoal extends PausableGoal {
 
                 if (distance < accessDistance) {
                     //stop moving while taking out
-                    this.entity.getNavigation().stop();
+                    this.pathFollower.stop();
                 } else {
                     //continue moving
                     BlockPos moveTarget = this.getMoveTarget();
-                    this.entity.getNavigation().moveTo(this.entity.getNavigation().createPath(moveTarget, 0), 1.0f);
+                    this.pathFollower.moveTo(moveTarget, 1.0f);
                 }
 
                 //when close enough insert item
@@ -23,6 +23,8 @@
 package com.klikli_dev.occultism.common.entity.ai.goal;
 
 import com.klikli_dev.occultism.common.entity.ai.BlockSorter;
+import com.klikli_dev.occultism.common.entity.ai.LineOfSightCache;
+import com.klikli_dev.occultism.common.entity.ai.PathFollower;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
 import com.klikli_dev.occultism.exceptions.ItemHandlerMissingException;
 import com.klikli_dev.occultism.util.Math3DUtil;
@@ -48,10 +50,12 @@ public class ExtractItemsGoal extends PausableGoal {
 
     protected final SpiritEntity entity;
     protected final BlockSorter targetSorter;
+    protected final PathFollower pathFollower;
     protected BlockPos targetBlock = null;
 
     public ExtractItemsGoal(SpiritEntity entity) {
         this.entity = entity;
+        this.pathFollower = new PathFollower(entity);
         this.targetSorter = new BlockSorter(entity);
         this.setFlags(EnumSet.of(Flag.TARGET));
     }
@@ -88,7 +92,7 @@ public class ExtractItemsGoal extends PausableGoal {
     }
 
     public void stop() {
-        this.entity.getNavigation().stop();
+        this.pathFollower.stop();
         this.resetTarget();
     }
 
@@ -111,11 +115,11 @@ public class ExtractItemsGoal extends PausableGoal {
 
                 if (distance < accessDistance) {
                     //stop moving while taking out
-                    this.entity.getNavigation().stop();
+                    this.pathFollower.stop();
                 } else {
                     //continue moving
                     BlockPos moveTarget = this.getMoveTarget();
-                    this.entity.getNavigation().moveTo(this.entity.getNavigation().createPath(moveTarget, 0), 1.0f);
+                    this.pathFollower.moveTo(moveTarget, 1.0f);
                 }
 
                 //when close enough extract item
@@ -160,7 +164,10 @@ public class ExtractItemsGoal extends PausableGoal {
     }
 
     public boolean canSeeTarget() {
+        return LineOfSightCache.canSee(this.entity, this.targetBlock, LineOfSightCache.Check.FEET_TO_BLOCK, this::raycastTarget);
+    }
 
+    protected boolean raycastTarget() {
         ClipContext context = new ClipContext(this.entity.position(),
                 Math3DUtil.center(this.targetBlock), ClipContext.Block.COLLIDER, ClipContext.Fluid.NONE,
                 this.entity);
@@ -169,7 +176,7 @@ public class ExtractItemsGoal extends PausableGoal {
         if (result.getType() != BlockHitResult.Type.MISS) {
             BlockPos sidePos = result.getBlockPos();
             BlockPos pos = BlockPos.containing(result.getLocation());
-            return this.entity.level().isEmptyBlock(sidePos) || this.entity.level().isEmptyBlock(pos) ||
+            return pos.equals(this.targetBlock) || this.entity.level().isEmptyBlock(sidePos) || this.entity.level().isEmptyBlock(pos) ||
                     this.entity.level().getBlockEntity(pos) == this.entity.level().getBlockEntity(this.targetBlock);
         }
 
@@ -22,20 +22,17 @@
 
 package com.klikli_dev.occultism.common.entity.ai.goal;
 
-import com.klikli_dev.occultism.api.common.blockentity.IStorageControllerProxy;
+import com.klikli_dev.occultism.common.blockentity.StorageProxyRegistry;
 import com.klikli_dev.occultism.common.entity.ai.BlockSorter;
 import com.klikli_dev.occultism.common.entity.job.ManageMachineJob;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.world.InteractionHand;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 
-import java.util.ArrayList;
 import java.util.EnumSet;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * If there is a handheld item and no deposit location, it will try to deposit in a storage controller.
@@ -92,9 +89,6 @@ public class FallbackDepositToControllerGoal extends PausableGoal {
     }
 
     protected BlockEntity findClosestStorageProxy() {
-        Level level = this.entity.level();
-        List<BlockPos> allBlocks = new ArrayList<>();
-
         if (this.job.getManagedMachine() == null || this.job.getManagedMachine().insertGlobalPos == null)
             return null;
 
@@ -102,26 +96,12 @@ public class FallbackDepositToControllerGoal extends PausableGoal {
 
         //get work area, but only half height, we don't need full.
         int workAreaSize = this.entity.getWorkAreaSize().getValue();
-        List<BlockPos> searchBlocks = BlockPos.betweenClosedStream(
-                        machinePosition.offset(-workAreaSize, -workAreaSize / 2, -workAreaSize),
-                        machinePosition.offset(workAreaSize, workAreaSize / 2, workAreaSize)).map(BlockPos::immutable)
-                .collect(Collectors.toList());
-
-        for (BlockPos pos : searchBlocks) {
-            BlockEntity blockEntity = level.getBlockEntity(pos);
-            if (blockEntity instanceof IStorageControllerProxy proxy) {
-                if (proxy.getLinkedStorageControllerPosition() != null &&
-                        proxy.getLinkedStorageControllerPosition().equals(this.job.getStorageControllerPosition()))
-                    allBlocks.add(pos);
-            }
-        }
+        BoundingBox searchArea = BoundingBox.fromCorners(
+                machinePosition.offset(-workAreaSize, -workAreaSize / 2, -workAreaSize),
+                machinePosition.offset(workAreaSize, workAreaSize / 2, workAreaSize));
 
-        //set closest log as target
-        if (!allBlocks.isEmpty()) {
-            allBlocks.sort(this.targetSorter);
-            return level.getBlockEntity(allBlocks.get(0));
-        }
-        return null;
+        return StorageProxyRegistry.findClosestProxy(this.entity.level(),
+                this.job.getStorageControllerPosition(), searchArea, this.targetSorter);
     }
 
 }
@@ -25,7 +25,10 @@ package com.klikli_dev.occultism.common.entity.ai.goal;
 import com.klikli_dev.occultism.api.common.blockentity.IStorageController;
 import com.klikli_dev.occultism.api.common.blockentity.IStorageControllerProxy;
 import com.klikli_dev.occultism.api.common.data.MachineReference;
+import com.klikli_dev.occultism.common.blockentity.StorageProxyRegistry;
 import com.klikli_dev.occultism.common.entity.ai.BlockSorter;
+import com.klikli_dev.occultism.common.entity.ai.LineOfSightCache;
+import com.klikli_dev.occultism.common.entity.ai.PathFollower;
 import com.klikli_dev.occultism.common.entity.job.ManageMachineJob;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
 import com.klikli_dev.occultism.common.misc.DepositOrder;
@@ -37,22 +40,19 @@ import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.ClipContext;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraftforge.common.capabilities.ForgeCapabilities;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.ItemHandlerHelper;
 
-import java.util.ArrayList;
 import java.util.EnumSet;
-import java.util.List;
-import java.util.stream.Stream;
 
 public class ManageMachineGoal extends Goal {
     protected final SpiritEntity entity;
     protected final BlockSorter targetSorter;
+    protected final PathFollower pathFollower;
     protected BlockPos targetBlock = null;
     protected BlockEntity cachedStorageAccessor;
     protected DepositOrder cachedStorageAccessorOrder;
@@ -60,6 +60,7 @@ public class ManageMachineGoal extends Goal {
 
     public ManageMachineGoal(SpiritEntity entity, ManageMachineJob job) {
         this.entity = entity;
+        this.pathFollower = new PathFollower(entity);
         this.job = job;
         this.targetSorter = new BlockSorter(entity);
         this.setFlags(EnumSet.of(Flag.MOVE));
@@ -94,7 +95,7 @@ public class ManageMachineGoal extends Goal {
     }
 
     public void stop() {
-        this.entity.getNavigation().stop();
+        this.pathFollower.stop();
         this.resetTarget();
     }
 
@@ -115,11 +116,11 @@ public class ManageMachineGoal extends Goal {
                 float accessDistance = 2.2f;//1.86f;
                 if (distance < accessDistance) {
                     //stop moving while taking out
-                    this.entity.getNavigation().stop();
+                    this.pathFollower.stop();
                 } else {
                     //continue moving
                     BlockPos moveTarget = this.getMoveTarget();
-                    this.entity.getNavigation().moveTo(this.entity.getNavigation().createPath(moveTarget, 0), 1.0f);
+                    this.pathFollower.moveTo(moveTarget, 1.0f);
                 }
 
                 //when close enough, interact
@@ -200,7 +201,10 @@ public class ManageMachineGoal extends Goal {
     }
 
     public boolean canSeeTarget() {
-        BlockState targetBlockState = this.entity.level().getBlockState(this.targetBlock);
+        return LineOfSightCache.canSee(this.entity, this.targetBlock, LineOfSightCache.Check.EYES_TO_BLOCK, this::raycastTarget);
+    }
+
+    protected boolean raycastTarget() {
         ClipContext context = new ClipContext(this.entity.getEyePosition(0),
                 Math3DUtil.center(this.targetBlock), ClipContext.Block.COLLIDER, ClipContext.Fluid.NONE,
                 this.entity);
@@ -209,7 +213,7 @@ public class ManageMachineGoal extends Goal {
         if (rayTrace.getType() != BlockHitResult.Type.MISS) {
             BlockPos sidePos = rayTrace.getBlockPos();
             BlockPos pos = BlockPos.containing(rayTrace.getLocation());
-            return this.entity.level().isEmptyBlock(sidePos) || this.entity.level().isEmptyBlock(pos) ||
+            return pos.equals(this.targetBlock) || this.entity.level().isEmptyBlock(sidePos) || this.entity.level().isEmptyBlock(pos) ||
                     this.entity.level().getBlockEntity(pos) == this.entity.level().getBlockEntity(this.targetBlock);
         }
 
@@ -220,32 +224,21 @@ public class ManageMachineGoal extends Goal {
         if (this.cachedStorageAccessor != null && this.cachedStorageAccessorOrder == this.job.getCurrentDepositOrder())
             return this.cachedStorageAccessor;
 
-        Level level = this.entity.level();
-        List<BlockPos> allBlocks = new ArrayList<>();
         BlockPos machinePosition = this.job.getManagedMachine().insertGlobalPos.getPos();
 
         //get work area, but only half height, we don't need full.
         int workAreaSize = this.entity.getWorkAreaSize().getValue();
-        Stream<BlockPos> searchBlocks = BlockPos.betweenClosedStream(
+        BoundingBox searchArea = BoundingBox.fromCorners(
                 machinePosition.offset(-workAreaSize, -workAreaSize / 2, -workAreaSize),
                 machinePosition.offset(workAreaSize, workAreaSize / 2, workAreaSize));
-        searchBlocks.forEachOrdered(pos -> {
-            BlockEntity blockEntity = level.getBlockEntity(pos);
-            if (blockEntity instanceof IStorageControllerProxy proxy) {
-                if (proxy.getLinkedStorageControllerPosition() != null &&
-                        proxy.getLinkedStorageControllerPosition().equals(this.job.getStorageControllerPosition()))
-                    allBlocks.add(pos.immutable());
-            }
-        });
 
-        //set closest log as target
-        if (!allBlocks.isEmpty()) {
-            allBlocks.sort(this.targetSorter);
-            this.cachedStorageAccessor = level.getBlockEntity(allBlocks.get(0));
+        BlockEntity closestProxy = StorageProxyRegistry.findClosestProxy(this.entity.level(),
+                this.job.getStorageControllerPosition(), searchArea, this.targetSorter);
+        if (closestProxy != null) {
+            this.cachedStorageAccessor = closestProxy;
             this.cachedStorageAccessorOrder = this.job.getCurrentDepositOrder();
-            return this.cachedStorageAccessor;
         }
-        return null;
+        return closestProxy;
     }
 
     private boolean startTargetingStorageController(DepositOrder depositOrder, MachineReference machineReference,
@@ -256,6 +249,15 @@ public class ManageMachineGoal extends Goal {
                     ItemStack orderStack = storageController
                             .getItemStack(depositOrder.comparator, depositOrder.amount,
                                     true);
+                    if (!orderStack.isEmpty()) {
+                        //merged orders may be more than the machine accepts right now, deliver what fits and requeue the rest
+                        int accepted = orderStack.getCount() -
+                                ItemHandlerHelper.insertItem(machineItemHandler, orderStack, true).getCount();
+                        if (accepted > 0 && accepted < orderStack.getCount()) {
+                            this.job.splitCurrentDepositOrder(accepted);
+                            orderStack.setCount(accepted);
+                        }
+                    }
                     if (!orderStack.isEmpty() &&
                             ItemHandlerHelper.insertItem(machineItemHandler, orderStack, true).isEmpty()) {
                         //if we can insert everything we can get for this order, perform it.
@@ -24,8 +24,11 @@ package com.klikli_dev.occultism.common.entity.ai.goal;
 
 import com.google.common.base.Predicate;
 import com.klikli_dev.occultism.common.entity.ai.EntitySorter;
+import com.klikli_dev.occultism.common.entity.ai.ItemEntityIndex;
+import com.klikli_dev.occultism.common.entity.ai.PathFollower;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
 import com.klikli_dev.occultism.exceptions.ItemHandlerMissingException;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.ai.goal.target.TargetGoal;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.ItemStack;
@@ -35,13 +38,13 @@ import net.minecraftforge.items.ItemStackHandler;
 
 import javax.annotation.Nullable;
 import java.util.EnumSet;
-import java.util.List;
 
 public class PickupItemsGoal extends TargetGoal {
 
     protected final SpiritEntity entity;
     protected final Predicate<? super ItemEntity> targetItemSelector;
     protected final EntitySorter entitySorter;
+    protected final PathFollower pathFollower;
     protected ItemEntity targetItem;
     protected int executionChance;
     protected float pickupRange;
@@ -54,6 +57,7 @@ public class PickupItemsGoal extends TargetGoal {
     public PickupItemsGoal(SpiritEntity entity, float pickupRange, int executionChance) {
         super(entity, false, false);
         this.entity = entity;
+        this.pathFollower = new PathFollower(entity);
         this.pickupRange = pickupRange;
         this.executionChance = executionChance;
         this.targetItemSelector = new Predicate<ItemEntity>() {
@@ -88,13 +92,12 @@ public class PickupItemsGoal extends TargetGoal {
         AABB targetBox = new AABB(-workAreaSize, -workAreaSize / 2.0, -workAreaSize, workAreaSize,
                 workAreaSize / 2.0, workAreaSize).move(this.entity.getWorkAreaCenter());
 
-        List<ItemEntity> list = this.mob.level()
-                .getEntitiesOfClass(ItemEntity.class, targetBox, this.targetItemSelector);
-        if (list.isEmpty()) {
+        ItemEntityIndex itemIndex = ItemEntityIndex.get((ServerLevel) this.mob.level());
+        this.targetItem = itemIndex.getNearestUnclaimed(targetBox, this.entity, this.targetItemSelector::apply);
+        if (this.targetItem == null) {
             return false;
         } else {
-            list.sort(this.entitySorter);
-            this.targetItem = list.get(0);
+            itemIndex.claim(this.targetItem, this.entity);
             return true;
         }
     }
@@ -103,13 +106,13 @@ public class PickupItemsGoal extends TargetGoal {
     public void tick() {
         if (this.targetItem == null || !this.targetItem.isAlive()) {
             this.stop();
-            this.mob.getNavigation().stop();
+            this.pathFollower.stop();
         } else {
-            this.mob.getNavigation().moveTo(this.mob.getNavigation().createPath(this.targetItem, 0), 1.0f);
+            this.pathFollower.moveTo(this.targetItem, 1.0f);
             double distance = this.entity.position().distanceTo(this.targetItem.position());
             if (distance < this.pickupRange) {
                 this.entity.setDeltaMovement(0, 0, 0);
-                this.entity.getNavigation().stop();
+                this.pathFollower.stop();
 
                 ItemStack duplicate = this.targetItem.getItem().copy();
                 ItemStackHandler handler = this.entity.itemStackHandler.orElseThrow(ItemHandlerMissingException::new);
@@ -117,6 +120,7 @@ public class PickupItemsGoal extends TargetGoal {
                     ItemStack remaining = ItemHandlerHelper.insertItemStacked(handler, duplicate, false);
                     this.targetItem.getItem().setCount(remaining.getCount());
                 }
+                ItemEntityIndex.get((ServerLevel) this.mob.level()).release(this.targetItem, this.entity);
             }
         }
     }
@@ -128,8 +132,17 @@ public class PickupItemsGoal extends TargetGoal {
 
     @Override
     public void start() {
-        this.mob.getNavigation().moveTo(this.mob.getNavigation().createPath(this.targetItem, 0), 1.0f);
+        this.pathFollower.moveTo(this.targetItem, 1.0f);
         super.start();
     }
 
+    @Override
+    public void stop() {
+        //release the claim even if we did not get to pick up the item, so other spirits do not skip it
+        if (this.targetItem != null)
+            ItemEntityIndex.get((ServerLevel) this.mob.level()).release(this.targetItem, this.entity);
+        this.targetItem = null;
+        super.stop();
+    }
+
 }
@@ -23,6 +23,7 @@
 package com.klikli_dev.occultism.common.entity.ai.goal;
 
 import com.klikli_dev.occultism.common.entity.ai.BlockSorter;
+import com.klikli_dev.occultism.common.entity.ai.PathFollower;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
 import com.klikli_dev.occultism.util.Math3DUtil;
 import net.minecraft.core.BlockPos;
@@ -36,10 +37,12 @@ import java.util.EnumSet;
 public class ReplantSaplingGoal extends Goal {
     protected final SpiritEntity entity;
     protected final BlockSorter targetSorter;
+    protected final PathFollower pathFollower;
     protected BlockPos moveTarget = null;
 
     public ReplantSaplingGoal(SpiritEntity entity) {
         this.entity = entity;
+        this.pathFollower = new PathFollower(entity);
         this.targetSorter = new BlockSorter(entity);
         this.setFlags(EnumSet.of(Flag.MOVE));
     }
@@ -72,7 +75,7 @@ public class ReplantSaplingGoal extends Goal {
     }
 
     public void stop() {
-        this.entity.getNavigation().stop();
+        this.pathFollower.stop();
         this.resetTarget();
     }
 
@@ -85,7 +88,7 @@ public class ReplantSaplingGoal extends Goal {
 
             if (distance < accessDistance) {
                 //stop moving while planting
-                this.entity.getNavigation().stop();
+                this.pathFollower.stop();
 
 //                this.entity.getJob().map(j -> (LumberjackJob) j).map(LumberjackJob::getLastFelledTree).ifPresent(lastFelledTree -> {
 //
@@ -105,7 +108,7 @@ public class ReplantSaplingGoal extends Goal {
             } else {
                 //continue moving
                 BlockPos moveTarget = this.getMoveTarget();
-                this.entity.getNavigation().moveTo(this.entity.getNavigation().createPath(moveTarget, 0), 1.0f);
+                this.pathFollower.moveTo(moveTarget, 1.0f);
             }
         } else {
             this.resetTarget(); //if there is no tile entity, recheck
@@ -22,6 +22,7 @@
 
 package com.klikli_dev.occultism.common.entity.ai.goal;
 
+import com.klikli_dev.occultism.common.entity.ai.PathFollower;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
 import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.phys.Vec3;
@@ -31,6 +32,7 @@ import java.util.EnumSet;
 public class ReturnToWorkAreaGoal extends Goal {
 
     protected final SpiritEntity entity;
+    protected final PathFollower pathFollower;
     protected int executionChance;
 
     public ReturnToWorkAreaGoal(SpiritEntity entity) {
@@ -39,6 +41,7 @@ public class ReturnToWorkAreaGoal extends Goal {
 
     public ReturnToWorkAreaGoal(SpiritEntity entity, int executionChance) {
         this.entity = entity;
+        this.pathFollower = new PathFollower(entity);
         this.executionChance = executionChance;
         this.setFlags(EnumSet.of(Flag.TARGET));
     }
@@ -62,15 +65,14 @@ public class ReturnToWorkAreaGoal extends Goal {
     public void tick() {
         if (!this.entity.getWorkAreaPosition().isPresent()) {
             this.stop();
-            this.entity.getNavigation().stop();
+            this.pathFollower.stop();
         } else {
-            this.entity.getNavigation().moveTo(this.entity.getNavigation().createPath(
-                    this.entity.getWorkAreaPosition().orElse(this.entity.blockPosition()), 0), 1.0f);
+            this.pathFollower.moveTo(this.entity.getWorkAreaPosition().orElse(this.entity.blockPosition()), 1.0f);
             double distance = this.entity.position().distanceTo(
                     Vec3.atCenterOf(this.entity.getWorkAreaPosition().orElse(this.entity.blockPosition())));
             if (distance < 1F) {
                 this.entity.setDeltaMovement(0, 0, 0);
-                this.entity.getNavigation().stop();
+                this.pathFollower.stop();
             }
         }
     }
@@ -82,8 +84,7 @@ public class ReturnToWorkAreaGoal extends Goal {
 
     @Override
     public void start() {
-        this.entity.getNavigation().moveTo(this.entity.getNavigation().createPath(
-                this.entity.getWorkAreaPosition().orElse(this.entity.blockPosition()), 0), 1.0f);
+        this.pathFollower.moveTo(this.entity.getWorkAreaPosition().orElse(this.entity.blockPosition()), 1.0f);
         super.start();
     }
 
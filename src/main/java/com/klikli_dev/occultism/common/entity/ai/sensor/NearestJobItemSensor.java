@@ -2,6 +2,8 @@ package com.klikli_dev.occultism.common.entity.ai.sensor;
 
 import com.klikli_dev.occultism.Occultism;
 import com.klikli_dev.occultism.OccultismConstants;
+import com.klikli_dev.occultism.common.entity.ai.ItemEntityIndex;
+import com.klikli_dev.occultism.common.entity.ai.LineOfSightCache;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
 import com.klikli_dev.occultism.network.MessageSelectBlock;
 import com.klikli_dev.occultism.network.OccultismPackets;
@@ -9,14 +11,15 @@ import com.klikli_dev.occultism.registry.OccultismMemoryTypes;
 import com.klikli_dev.occultism.registry.OccultismSensors;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.ai.behavior.EntityTracker;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
+import net.minecraft.world.entity.ai.memory.WalkTarget;
 import net.minecraft.world.entity.ai.sensing.SensorType;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.phys.AABB;
 import net.tslat.smartbrainlib.api.core.sensor.ExtendedSensor;
 import net.tslat.smartbrainlib.api.core.sensor.PredicateSensor;
 import net.tslat.smartbrainlib.util.BrainUtils;
-import net.tslat.smartbrainlib.util.EntityRetrievalUtil;
 
 import java.util.List;
 
@@ -26,7 +29,9 @@ public class NearestJobItemSensor<E extends SpiritEntity> extends PredicateSenso
 
     public NearestJobItemSensor() {
         super((item, entity) -> {
-            return entity.canPickupItem(item) && entity.hasLineOfSight(item);
+            return entity.canPickupItem(item) &&
+                    LineOfSightCache.canSee(entity, item.blockPosition(), LineOfSightCache.Check.EYES_TO_ENTITY,
+                            () -> entity.hasLineOfSight(item));
         });
 
         this.setScanRate((entity) -> DEFAULT_SCAN_RATE_TICKS);
@@ -40,11 +45,21 @@ public class NearestJobItemSensor<E extends SpiritEntity> extends PredicateSenso
         return OccultismSensors.NEAREST_JOB_ITEM.get();
     }
 
+    protected static boolean isWalkingTo(SpiritEntity entity, ItemEntity item) {
+        WalkTarget walkTarget = BrainUtils.getMemory(entity, MemoryModuleType.WALK_TARGET);
+        return walkTarget != null && walkTarget.getTarget() instanceof EntityTracker tracker && tracker.getEntity() == item;
+    }
+
     protected void doTick(ServerLevel level, E entity) {
 
+        var itemIndex = ItemEntityIndex.get(level);
+
         //exit if we already have a desired item, to avoid switching back and forth if we lose LoS during movement
         if (BrainUtils.hasMemory(entity, MemoryModuleType.NEAREST_VISIBLE_WANTED_ITEM)) {
             var nearestEntity = BrainUtils.getMemory(entity, MemoryModuleType.NEAREST_VISIBLE_WANTED_ITEM);
+            //keep our claim only while we are on the way, otherwise it expires and other spirits may take the item
+            if (isWalkingTo(entity, nearestEntity))
+                itemIndex.claim(nearestEntity, entity);
             if (Occultism.DEBUG.debugAI) {
                 OccultismPackets.sendToTracking(entity, new MessageSelectBlock(nearestEntity.blockPosition(), 5000, OccultismConstants.Color.GREEN));
             }
@@ -69,13 +84,9 @@ public class NearestJobItemSensor<E extends SpiritEntity> extends PredicateSenso
         var aabb = new AABB(workAreaCenter.offset(-workAreaSize / 2, -workAreaSize / 2, -workAreaSize / 2),
                 workAreaCenter.offset(workAreaSize / 2, workAreaSize / 2, workAreaSize / 2));
 
-        ItemEntity nearestEntity = EntityRetrievalUtil.getNearestEntity(level,
-                aabb, entity.position(), (obj) -> {
-                    if (obj instanceof ItemEntity item) {
-                        return this.predicate().test(item, entity);
-                    }
-                    return false;
-                });
+        ItemEntity nearestEntity = itemIndex.getNearestUnclaimed(aabb, entity, item -> this.predicate().test(item, entity));
+        if (nearestEntity != null)
+            itemIndex.claim(nearestEntity, entity);
 
         BrainUtils.setMemory(entity, MemoryModuleType.NEAREST_VISIBLE_WANTED_ITEM, nearestEntity);
 
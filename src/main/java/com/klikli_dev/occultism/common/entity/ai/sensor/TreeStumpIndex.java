@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.entity.ai.sensor;
+
+import com.klikli_dev.occultism.registry.OccultismTags;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-level index of potential tree stumps (logs on tree soil), used by the {@link NearestTreeSensor}.
+ * Chunks are scanned lazily the first time a work area touches them, afterwards they are kept up to date from block
+ * change notifications and dropped again when the chunk unloads.
+ * Only accessed from the server thread.
+ */
+public class TreeStumpIndex {
+
+    /**
+     * Block changes that do not notify neighbours (e.g. some structure placement) are not seen by the index,
+     * so chunks are rescanned after this time as a fallback.
+     */
+    public static final int CHUNK_RESCAN_INTERVAL_TICKS = 20 * 60 * 5;
+
+    private static final Map<ServerLevel, TreeStumpIndex> indices = new WeakHashMap<>();
+
+    private final ServerLevel level;
+    private final Long2ObjectMap<ChunkEntry> chunks = new Long2ObjectOpenHashMap<>();
+
+    protected TreeStumpIndex(ServerLevel level) {
+        this.level = level;
+    }
+
+    public static TreeStumpIndex get(ServerLevel level) {
+        return indices.computeIfAbsent(level, TreeStumpIndex::new);
+    }
+
+    public static void onBlockChanged(LevelAccessor level, BlockPos pos, BlockState state) {
+        if (level instanceof ServerLevel serverLevel) {
+            TreeStumpIndex index = indices.get(serverLevel);
+            if (index != null)
+                index.update(pos, state);
+        }
+    }
+
+    public static void onChunkChanged(LevelAccessor level, ChunkPos pos) {
+        if (level instanceof ServerLevel serverLevel) {
+            TreeStumpIndex index = indices.get(serverLevel);
+            if (index != null)
+                index.chunks.remove(pos.toLong());
+        }
+    }
+
+    public static void onLevelUnload(LevelAccessor level) {
+        if (level instanceof ServerLevel serverLevel) {
+            indices.remove(serverLevel);
+        }
+    }
+
+    public static boolean isStump(BlockState state, BlockState below) {
+        return state.is(BlockTags.LOGS) && below.is(OccultismTags.TREE_SOIL);
+    }
+
+    /**
+     * Gets all indexed stumps within the given area. Chunks that are not loaded are skipped.
+     *
+     * @param area the area to search.
+     * @return a new, mutable list of stump positions.
+     */
+    public List<BlockPos> getStumps(BoundingBox area) {
+        List<BlockPos> result = new ArrayList<>();
+        long gameTime = this.level.getGameTime();
+        for (int chunkX = SectionPos.blockToSectionCoord(area.minX()); chunkX <= SectionPos.blockToSectionCoord(area.maxX()); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(area.minZ()); chunkZ <= SectionPos.blockToSectionCoord(area.maxZ()); chunkZ++) {
+                if (!this.level.hasChunk(chunkX, chunkZ))
+                    continue;
+
+                ChunkEntry entry = this.getOrScan(chunkX, chunkZ, gameTime);
+                LongIterator iterator = entry.stumps.iterator();
+                while (iterator.hasNext()) {
+                    BlockPos pos = BlockPos.of(iterator.nextLong());
+                    if (area.isInside(pos))
+                        result.add(pos);
+                }
+            }
+        }
+        return result;
+    }
+
+    protected ChunkEntry getOrScan(int chunkX, int chunkZ, long gameTime) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        ChunkEntry entry = this.chunks.get(key);
+        if (entry == null || gameTime - entry.scanTime >= CHUNK_RESCAN_INTERVAL_TICKS) {
+            entry = new ChunkEntry(this.scan(this.level.getChunk(chunkX, chunkZ)), gameTime);
+            this.chunks.put(key, entry);
+        }
+        return entry;
+    }
+
+    protected LongSet scan(LevelChunk chunk) {
+        LongSet stumps = new LongOpenHashSet();
+        LevelChunkSection[] sections = chunk.getSections();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int minX = chunk.getPos().getMinBlockX();
+        int minZ = chunk.getPos().getMinBlockZ();
+
+        for (int i = 0; i < sections.length; i++) {
+            LevelChunkSection section = sections[i];
+            //the palette tells us if a section can contain logs at all, most sections cannot
+            if (section.hasOnlyAir() || !section.maybeHas(state -> state.is(BlockTags.LOGS)))
+                continue;
+
+            int minY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(i));
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        BlockState state = section.getBlockState(x, y, z);
+                        if (!state.is(BlockTags.LOGS))
+                            continue;
+
+                        pos.set(minX + x, minY + y, minZ + z);
+                        BlockState below = y > 0 ? section.getBlockState(x, y - 1, z) : chunk.getBlockState(pos.below());
+                        if (isStump(state, below))
+                            stumps.add(pos.asLong());
+                    }
+                }
+            }
+        }
+        return stumps;
+    }
+
+    protected void update(BlockPos pos, BlockState state) {
+        ChunkEntry entry = this.chunks.get(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())));
+        if (entry == null)
+            return; //not scanned yet, will be picked up by the scan
+
+        //the changed block may be a stump itself, or the soil below a stump
+        if (isStump(state, this.level.getBlockState(pos.below())))
+            entry.stumps.add(pos.asLong());
+        else
+            entry.stumps.remove(pos.asLong());
+
+        BlockPos above = pos.above();
+        if (isStump(this.level.getBlockState(above), state))
+            entry.stumps.add(above.asLong());
+        else
+            entry.stumps.remove(above.asLong());
+    }
+
+    protected static class ChunkEntry {
+        public final LongSet stumps;
+        public final long scanTime;
+
+        public ChunkEntry(LongSet stumps, long scanTime) {
+            this.stumps = stumps;
+            this.scanTime = scanTime;
+        }
+    }
+}
@@ -24,6 +24,7 @@ package com.klikli_dev.occultism.common.entity.familiar;
 
 import com.google.common.collect.ImmutableList;
 import com.klikli_dev.occultism.common.advancement.FamiliarTrigger;
+import com.klikli_dev.occultism.common.entity.ai.ItemEntityIndex;
 import com.klikli_dev.occultism.registry.OccultismAdvancements;
 import com.klikli_dev.occultism.registry.OccultismEffects;
 import com.klikli_dev.occultism.registry.OccultismEntities;
@@ -363,7 +364,7 @@ public class DragonFamiliarEntity extends FamiliarEntity {
         }
 
         private ItemEntity findStick() {
-            List<ItemEntity> sticks = this.dragon.level().getEntitiesOfClass(ItemEntity.class,
+            List<ItemEntity> sticks = ItemEntityIndex.getItems(this.dragon.level(),
                     this.dragon.getBoundingBox().inflate(8), e -> e.getItem().getItem() == Items.STICK && e.isAlive());
             return sticks.isEmpty() ? null : sticks.get(0);
         }
@@ -24,6 +24,7 @@ package com.klikli_dev.occultism.common.entity.familiar;
 
 import com.google.common.collect.ImmutableList;
 import com.klikli_dev.occultism.common.advancement.FamiliarTrigger;
+import com.klikli_dev.occultism.common.entity.ai.ItemEntityIndex;
 import com.klikli_dev.occultism.registry.OccultismAdvancements;
 import com.klikli_dev.occultism.registry.OccultismEntities;
 import net.minecraft.core.BlockPos;
@@ -106,7 +107,7 @@ public class GreedyFamiliarEntity extends FamiliarEntity {
             return;
 
         if (this.isEffectEnabled(wearer))
-            for (ItemEntity e : wearer.level().getEntitiesOfClass(ItemEntity.class, wearer.getBoundingBox().inflate(5), Entity::isAlive)) {
+            for (ItemEntity e : ItemEntityIndex.getItems(wearer.level(), wearer.getBoundingBox().inflate(5), Entity::isAlive)) {
                 ItemStack stack = e.getItem();
 
                 boolean isStackDemagnetized = stack.hasTag() && stack.getTag().getBoolean("PreventRemoteMovement");
@@ -253,7 +254,7 @@ public class GreedyFamiliarEntity extends FamiliarEntity {
 
             IItemHandler inv = new PlayerMainInvWrapper(player.getInventory());
 
-            for (ItemEntity item : this.entity.level().getEntitiesOfClass(ItemEntity.class,
+            for (ItemEntity item : ItemEntityIndex.getItems(this.entity.level(),
                     this.entity.getBoundingBox().inflate(RANGE), e -> e.isAlive())) {
                 ItemStack stack = item.getItem();
 
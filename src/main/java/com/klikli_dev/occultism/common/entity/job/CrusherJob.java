@@ -27,12 +27,10 @@ import com.klikli_dev.occultism.common.entity.ai.goal.PickupItemsGoal;
 import com.klikli_dev.occultism.common.entity.spirit.DjinniEntity;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
 import com.klikli_dev.occultism.crafting.recipe.CrushingRecipe;
+import com.klikli_dev.occultism.crafting.recipe.OccultismRecipeCache;
 import com.klikli_dev.occultism.crafting.recipe.TieredItemStackFakeInventory;
-import com.klikli_dev.occultism.registry.OccultismRecipes;
 import com.klikli_dev.occultism.registry.OccultismSounds;
-import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.EntityDimensions;
@@ -40,13 +38,11 @@ import net.minecraft.world.entity.Pose;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
-import net.minecraft.world.phys.Vec3;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 public class CrusherJob extends SpiritJob {
 
@@ -77,12 +73,7 @@ public class CrusherJob extends SpiritJob {
     @Override
     public void onInit() {
         this.entity.targetSelector.addGoal(1, this.pickupItemsGoal = new PickupItemsGoal(this.entity));
-        this.itemsToPickUp = this.entity.level().getRecipeManager().getRecipes().stream()
-                .filter(
-                        recipe -> recipe.getType() == OccultismRecipes.CRUSHING_TYPE.get()
-                                && ((CrushingRecipe) recipe).getMinTier() <= this.tier.get()
-                )
-                .flatMap(recipe -> recipe.getIngredients().stream()).collect(Collectors.toList());
+        this.itemsToPickUp = OccultismRecipeCache.get(this.entity.level()).getCrushingIngredients(this.tier.get());
     }
 
     @Override
@@ -92,12 +83,27 @@ public class CrusherJob extends SpiritJob {
 
     @Override
     public void update() {
+        this.update(1);
+    }
+
+    @Override
+    public boolean canSimulateAbstracted() {
+        return Occultism.SERVER_CONFIG.spiritJobs.enableAbstractedSimulation.get();
+    }
+
+    @Override
+    public void updateAbstracted(int ticks) {
+        this.pickupItemsAbstracted();
+        this.update(ticks);
+    }
+
+    @Override
+    public void update(int ticks) {
         ItemStack handHeld = this.entity.getItemInHand(InteractionHand.MAIN_HAND);
         var fakeInventory = new TieredItemStackFakeInventory(handHeld, this.tier.get());
 
         if (!this.currentRecipe.isPresent() && !handHeld.isEmpty()) {
-            this.currentRecipe = this.entity.level().getRecipeManager().getRecipeFor(OccultismRecipes.CRUSHING_TYPE.get(),
-                    fakeInventory, this.entity.level());
+            this.currentRecipe = this.findRecipe(handHeld);
             this.crushingTimer = 0;
 
             if (this.currentRecipe.isPresent()) {
@@ -120,26 +126,22 @@ public class CrusherJob extends SpiritJob {
                 this.currentRecipe = Optional.empty();
             } else {
                 //advance conversion
-                this.crushingTimer++;
-
-                //show particle effect while crushing
-                if (this.entity.level().getGameTime() % 10 == 0) {
-                    Vec3 pos = this.entity.position();
-                    ((ServerLevel) this.entity.level())
-                            .sendParticles(ParticleTypes.PORTAL, pos.x + this.entity.level().random.nextGaussian() / 3,
-                                    pos.y + 0.5, pos.z + this.entity.level().random.nextGaussian() / 3, 1, 0.0, 0.0, 0.0,
-                                    0.0);
-                }
+                int previousCrushingTimer = this.crushingTimer;
+                this.crushingTimer += ticks;
 
                 //every two seconds, play another crushing sound
-                if (this.crushingTimer % 40 == 0) {
+                if (this.crushingTimer / 40 != previousCrushingTimer / 40) {
                     this.entity.level().playSound(null, this.entity.blockPosition(), OccultismSounds.CRUNCHING.get(),
                             SoundSource.NEUTRAL, 1f,
                             1 + 0.5f * this.entity.getRandom().nextFloat());
                 }
 
-                if (this.crushingTimer >= this.currentRecipe.get().getCrushingTime() * this.crushingTimeMultiplier.get()) {
-                    this.crushingTimer = 0;
+                double crushingTime = this.currentRecipe.get().getCrushingTime() * this.crushingTimeMultiplier.get();
+                //with reduced ticking multiple items may be finished in one update, but never more than one per tick
+                int crushed = 0;
+                while (this.crushingTimer >= crushingTime && !handHeld.isEmpty() && crushed++ < ticks) {
+                    //keep the ticks beyond the crushing time so no progress is lost
+                    this.crushingTimer = crushingTime >= 1 ? this.crushingTimer - (int) Math.ceil(crushingTime) : 0;
 
                     ItemStack result = this.currentRecipe.get().assemble(fakeInventory, this.entity.level().registryAccess());
                     //make sure to ignore output multiplier on recipes that set that flag.
@@ -153,15 +155,21 @@ public class CrusherJob extends SpiritJob {
                     handHeld.shrink(1);
 
                     this.onCrush(inputCopy, result);
-                    ItemEntity droppedItem = this.entity.spawnAtLocation(result);
-                    if (droppedItem != null) {
-                        droppedItem.addTag(DROPPED_BY_CRUSHER);
+                    //while abstracted, results go straight into the deposit inventory
+                    if (this.entity.isAbstracted())
+                        result = this.depositAbstracted(result);
+                    if (!result.isEmpty()) {
+                        ItemEntity droppedItem = this.entity.spawnAtLocation(result);
+                        if (droppedItem != null) {
+                            droppedItem.addTag(DROPPED_BY_CRUSHER);
+                        }
                     }
                     //Don't reset recipe here, keep it cached
                 }
             }
         }
-        super.update();
+        //the client shows the crushing particles while this is set
+        this.entity.setWorking(this.currentRecipe.isPresent());
     }
 
     @Override
@@ -183,7 +191,22 @@ public class CrusherJob extends SpiritJob {
             return false; //cannot pick up items a crusher (most likely *this* one) dropped util delay elapsed.
 
         ItemStack stack = entity.getItem();
-        return !stack.isEmpty() && this.itemsToPickUp.stream().anyMatch(i -> i.test(stack));
+        return !stack.isEmpty() && this.findRecipe(stack).isPresent();
+    }
+
+    /**
+     * Finds the crushing recipe for the given input using the item indexed recipe cache.
+     *
+     * @param stack the input.
+     * @return the first recipe this crusher can perform on the input.
+     */
+    protected Optional<CrushingRecipe> findRecipe(ItemStack stack) {
+        var fakeInventory = new TieredItemStackFakeInventory(stack, this.tier.get());
+        for (CrushingRecipe recipe : OccultismRecipeCache.get(this.entity.level()).getCrushingRecipes(stack, this.tier.get())) {
+            if (recipe.matches(fakeInventory, this.entity.level()))
+                return Optional.of(recipe);
+        }
+        return Optional.empty();
     }
 
     @Override
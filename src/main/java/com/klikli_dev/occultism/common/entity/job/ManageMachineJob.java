@@ -39,7 +39,7 @@ import net.minecraft.world.entity.ai.navigation.GroundPathNavigation;
 import net.minecraft.world.level.block.entity.BlockEntity;
 
 import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.Deque;
 
 public class ManageMachineJob extends SpiritJob {
 
@@ -50,7 +50,7 @@ public class ManageMachineJob extends SpiritJob {
     protected GlobalBlockPos storageControllerPosition;
     protected MachineReference managedMachine;
     protected DepositOrder currentDepositOrder;
-    protected Queue<DepositOrder> depositOrderQueue = new ArrayDeque<>();
+    protected Deque<DepositOrder> depositOrderQueue = new ArrayDeque<>();
     protected IStorageController storageController;
     protected BlockEntity managedMachineBlockEntity;
     protected BlockEntity extractBlockEntity;
@@ -166,7 +166,7 @@ public class ManageMachineJob extends SpiritJob {
         if (this.storageControllerPosition != null && this.managedMachine != null) {
             //if we don't have an order and there is one available, take it from queue.
             if (this.getCurrentDepositOrder() == null && !this.depositOrderQueue.isEmpty()) {
-                this.setCurrentDepositOrder(this.depositOrderQueue.poll());
+                this.setCurrentDepositOrder(this.pollDepositOrder());
             }
         }
 
@@ -217,7 +217,43 @@ public class ManageMachineJob extends SpiritJob {
     }
 
     public void addDepsitOrder(DepositOrder order) {
-        this.depositOrderQueue.add(order);
+        //coalesce with the last queued order for the same items, so they are delivered in one trip
+        DepositOrder last = this.depositOrderQueue.peekLast();
+        if (last != null && last.canMerge(order))
+            last.merge(order);
+
+        if (order.amount > 0)
+            this.depositOrderQueue.add(order);
+    }
+
+    /**
+     * Takes the next order from the queue, merged with following orders for the same items.
+     */
+    protected DepositOrder pollDepositOrder() {
+        DepositOrder order = this.depositOrderQueue.poll();
+        while (order != null && !this.depositOrderQueue.isEmpty() && order.canMerge(this.depositOrderQueue.peek())) {
+            DepositOrder next = this.depositOrderQueue.peek();
+            order.merge(next);
+            if (next.amount > 0)
+                break;
+            this.depositOrderQueue.poll();
+        }
+        return order;
+    }
+
+    /**
+     * Reduces the current order to the given amount and queues the rest as the next order.
+     * Used if the machine cannot accept the full (merged) order right now.
+     *
+     * @param amount the amount to keep in the current order.
+     */
+    public void splitCurrentDepositOrder(int amount) {
+        if (this.currentDepositOrder == null || amount <= 0 || amount >= this.currentDepositOrder.amount)
+            return;
+
+        this.depositOrderQueue.addFirst(new DepositOrder(this.currentDepositOrder.comparator,
+                this.currentDepositOrder.amount - amount));
+        this.currentDepositOrder.amount = amount;
     }
 
     public void clearAllOrders() {
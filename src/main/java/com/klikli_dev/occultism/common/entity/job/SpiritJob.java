@@ -23,22 +23,34 @@
 package com.klikli_dev.occultism.common.entity.job;
 
 import com.google.common.collect.ImmutableList;
+import com.klikli_dev.occultism.common.entity.ai.ItemEntityIndex;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
+import com.klikli_dev.occultism.exceptions.ItemHandlerMissingException;
 import com.klikli_dev.occultism.registry.OccultismMemoryTypes;
 import com.klikli_dev.occultism.registry.OccultismSpiritJobs;
+import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.EntityDimensions;
 import net.minecraft.world.entity.Pose;
 import net.minecraft.world.entity.ai.Brain;
 import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
 import net.minecraftforge.common.util.INBTSerializable;
+import net.minecraftforge.items.ItemHandlerHelper;
+import net.minecraftforge.items.ItemStackHandler;
 import net.tslat.smartbrainlib.api.core.BrainActivityGroup;
 import net.tslat.smartbrainlib.api.core.sensor.ExtendedSensor;
 import net.tslat.smartbrainlib.util.BrainUtils;
 
 import java.util.List;
+import java.util.Optional;
 
 public abstract class SpiritJob implements INBTSerializable<CompoundTag> {
     public SpiritEntity entity;
@@ -117,6 +129,84 @@ public abstract class SpiritJob implements INBTSerializable<CompoundTag> {
 
     }
 
+    /**
+     * Updates the job after the given number of ticks have passed since the last update.
+     * Spirits far away from players are updated less often, jobs with time based progress override this to account for
+     * all passed ticks at once. By default, updates once per passed tick.
+     *
+     * @param ticks the ticks passed since the last update.
+     */
+    public void update(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            this.update();
+        }
+    }
+
+    /**
+     * @return true if this job can run while the spirit is abstracted, see {@link #updateAbstracted(int)}.
+     */
+    public boolean canSimulateAbstracted() {
+        return false;
+    }
+
+    /**
+     * Updates the job while the spirit is abstracted.
+     * Abstracted spirits are not ticked as entities, so there is no navigation and no goals, the job has to take its
+     * input and handle its output on its own.
+     *
+     * @param ticks the ticks passed since the last update.
+     */
+    public void updateAbstracted(int ticks) {
+        this.update(ticks);
+    }
+
+    /**
+     * Moves an item this job accepts from the ground in the work area directly into the spirit's inventory.
+     * Used by abstracted spirits instead of walking to the item.
+     */
+    protected void pickupItemsAbstracted() {
+        if (!this.entity.getItemInHand(InteractionHand.MAIN_HAND).isEmpty() || !(this.entity.level() instanceof ServerLevel level))
+            return;
+
+        int workAreaSize = this.entity.getWorkAreaSize().getValue();
+        AABB targetBox = new AABB(-workAreaSize, -workAreaSize / 2.0, -workAreaSize, workAreaSize,
+                workAreaSize / 2.0, workAreaSize).move(this.entity.getWorkAreaCenter());
+        ItemStackHandler handler = this.entity.itemStackHandler.orElseThrow(ItemHandlerMissingException::new);
+        ItemEntityIndex itemIndex = ItemEntityIndex.get(level);
+        //items claimed by other collectors are left to them
+        for (ItemEntity item : itemIndex.getItems(targetBox, candidate -> !itemIndex.isClaimedByOther(candidate, this.entity) && this.canPickupItem(candidate))) {
+            ItemStack stack = item.getItem();
+            ItemStack remaining = ItemHandlerHelper.insertItemStacked(handler, stack.copy(), false);
+            if (remaining.getCount() != stack.getCount()) {
+                //replace instead of modifying the stack, so the change is synced to clients
+                if (remaining.isEmpty())
+                    item.discard();
+                else
+                    item.setItem(remaining);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Inserts the given stack into the spirit's deposit block, if it has one. Used by abstracted spirits.
+     *
+     * @param stack the stack to insert.
+     * @return the remainder that could not be inserted.
+     */
+    protected ItemStack depositAbstracted(ItemStack stack) {
+        Optional<BlockPos> depositPosition = this.entity.getDepositPosition();
+        if (depositPosition.isEmpty() || !this.entity.level().isLoaded(depositPosition.get()))
+            return stack;
+
+        BlockEntity blockEntity = this.entity.level().getBlockEntity(depositPosition.get());
+        if (blockEntity == null)
+            return stack;
+
+        return blockEntity.getCapability(ForgeCapabilities.ITEM_HANDLER, this.entity.getDepositFacing())
+                .map(handler -> ItemHandlerHelper.insertItem(handler, stack, false)).orElse(stack);
+    }
+
     /**
      * Writes job data to NBT.
      *
@@ -22,22 +22,24 @@
 
 package com.klikli_dev.occultism.common.entity.job;
 
+import com.klikli_dev.occultism.Occultism;
 import com.klikli_dev.occultism.common.entity.ai.goal.PickupItemsGoal;
 import com.klikli_dev.occultism.common.entity.spirit.SpiritEntity;
 import com.klikli_dev.occultism.crafting.recipe.SpiritTradeRecipe;
-import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.Recipe;
-import net.minecraft.world.phys.Vec3;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class TraderJob extends SpiritJob {
 
@@ -50,6 +52,11 @@ public class TraderJob extends SpiritJob {
     protected PickupItemsGoal pickupItemsGoal;
 
     protected SpiritTradeRecipe trade;
+    /**
+     * The items the trade ingredients can match, used to quickly reject items before testing the trade.
+     * Null if an ingredient does not report its items.
+     */
+    protected Set<Item> tradeItems;
     protected int maxTradesPerRound = 4;
 
     public TraderJob(SpiritEntity entity, ResourceLocation recipeId) {
@@ -77,11 +84,24 @@ public class TraderJob extends SpiritJob {
      */
     public void setTradeRecipeId(ResourceLocation recipeId) {
         this.trade = null;
+        this.tradeItems = null;
         Optional<? extends Recipe<?>> recipe = this.entity.level().getRecipeManager().byKey(recipeId);
         recipe.ifPresent(r -> {
             if (r instanceof SpiritTradeRecipe)
                 this.trade = (SpiritTradeRecipe) r;
         });
+
+        if (this.trade != null) {
+            Set<Item> items = new HashSet<>();
+            for (Ingredient ingredient : this.trade.getIngredients()) {
+                ItemStack[] stacks = ingredient.getItems();
+                if (stacks.length == 0)
+                    return;
+                for (ItemStack stack : stacks)
+                    items.add(stack.getItem());
+            }
+            this.tradeItems = items;
+        }
     }
 
     /**
@@ -106,21 +126,35 @@ public class TraderJob extends SpiritJob {
 
     @Override
     public void update() {
+        this.update(1);
+    }
+
+    @Override
+    public boolean canSimulateAbstracted() {
+        return Occultism.SERVER_CONFIG.spiritJobs.enableAbstractedSimulation.get();
+    }
+
+    @Override
+    public void updateAbstracted(int ticks) {
+        this.pickupItemsAbstracted();
+        this.update(ticks);
+    }
+
+    @Override
+    public void update(int ticks) {
         ItemStack handHeld = this.entity.getItemInHand(InteractionHand.MAIN_HAND);
-        if (this.trade != null && this.trade.isValid(handHeld)) {
-            if (this.entity.level().getGameTime() % 10 == 0) {
-                //show particle effect while converting
-                Vec3 pos = this.entity.position();
-                ((ServerLevel) this.entity.level())
-                        .sendParticles(ParticleTypes.PORTAL, pos.x + this.entity.level().random.nextGaussian() / 3,
-                                pos.y + 0.5, pos.z + this.entity.level().random.nextGaussian() / 3, 1, 0.0, 0.0, 0.0,
-                                0.0);
-            }
-            if (this.entity.level().getGameTime() % 20 == 0) {
-                this.conversionTimer++;
-            }
-            if (this.conversionTimer >= this.getTimeToConvert()) {
-                this.conversionTimer = 0;
+        boolean isConverting = this.trade != null && this.trade.isValid(handHeld);
+        //the client shows the conversion particles while this is set
+        this.entity.setWorking(isConverting);
+        if (isConverting) {
+            //the timer counts seconds, add all second boundaries passed since the last update
+            long gameTime = this.entity.level().getGameTime();
+            this.conversionTimer += (int) (gameTime / 20 - (gameTime - ticks) / 20);
+
+            //with reduced ticking multiple rounds may be finished in one update, but never more than one per tick
+            int rounds = 0;
+            while (this.conversionTimer >= this.getTimeToConvert() && this.trade.isValid(handHeld) && rounds++ < ticks) {
+                this.conversionTimer = Math.max(0, this.conversionTimer - Math.max(1, this.getTimeToConvert()));
 
                 List<ItemStack> input = Collections.singletonList(handHeld);
                 int resultCount = 0;
@@ -139,14 +173,18 @@ public class TraderJob extends SpiritJob {
                 converted.setCount(converted.getCount() * resultCount);
 
                 if (resultCount > 0) {
-                    this.entity.spawnAtLocation(converted, 0.0f);
+                    //while abstracted, results go straight into the deposit inventory
+                    if (this.entity.isAbstracted())
+                        converted = this.depositAbstracted(converted);
+                    if (!converted.isEmpty())
+                        this.entity.spawnAtLocation(converted, 0.0f);
                     this.onConvert(resultCount);
                 }
+                handHeld = this.entity.getItemInHand(InteractionHand.MAIN_HAND);
             }
         } else {
             this.conversionTimer = 0;
         }
-        super.update();
     }
 
     @Override
@@ -173,7 +211,9 @@ public class TraderJob extends SpiritJob {
     @Override
     public boolean canPickupItem(ItemEntity entity) {
         ItemStack stack = entity.getItem();
-        return !stack.isEmpty() && this.trade.isValid(stack);
+        if (stack.isEmpty() || this.tradeItems != null && !this.tradeItems.contains(stack.getItem()))
+            return false;
+        return this.trade.isValid(stack);
     }
 
     /**
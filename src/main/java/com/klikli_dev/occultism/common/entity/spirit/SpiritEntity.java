@@ -24,7 +24,9 @@ package com.klikli_dev.occultism.common.entity.spirit;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.klikli_dev.occultism.Occultism;
 import com.klikli_dev.occultism.api.common.data.WorkAreaSize;
+import com.klikli_dev.occultism.client.particle.EffectParticles;
 import com.klikli_dev.occultism.common.container.spirit.SpiritContainer;
 import com.klikli_dev.occultism.common.entity.job.SpiritJob;
 import com.klikli_dev.occultism.common.item.spirit.BookOfCallingItem;
@@ -87,6 +89,14 @@ public abstract class SpiritEntity extends TamableAnimal implements ISkinnedCrea
      */
     public static final int DEFAULT_MAX_AGE = -1;//default age is unlimited.
     public static final int MAX_FILTER_SLOTS = 14;
+    /**
+     * How often to check for nearby players to determine the update interval.
+     */
+    public static final int UPDATE_INTERVAL_CHECK_TICKS = 20;
+    /**
+     * How many interval checks a spirit has to stand still before it is abstracted, see {@link #isAbstracted()}.
+     */
+    public static final int ABSTRACT_AFTER_STATIONARY_CHECKS = 30;
     private static final EntityDataAccessor<Optional<BlockPos>> DEPOSIT_POSITION =
             SynchedEntityData.defineId(SpiritEntity.class, EntityDataSerializers.OPTIONAL_BLOCK_POS);
     private static final EntityDataAccessor<Optional<UUID>> DEPOSIT_ENTITY_UUID =
@@ -135,6 +145,12 @@ public abstract class SpiritEntity extends TamableAnimal implements ISkinnedCrea
     private static final EntityDataAccessor<String> TAG_FILTER = SynchedEntityData
             .defineId(SpiritEntity.class, EntityDataSerializers.STRING);
 
+    /**
+     * True while the job is processing something, e.g. crushing or trading. Used to drive client side effects.
+     */
+    private static final EntityDataAccessor<Boolean> IS_WORKING = SynchedEntityData
+            .defineId(SpiritEntity.class, EntityDataSerializers.BOOLEAN);
+
     public ItemStackHandler inventory;
     public LazyOptional<ItemStackHandler> itemStackHandler = LazyOptional.of(() -> this.inventory);
     public LazyOptional<ItemStackHandler> filterItemStackHandler = LazyOptional.of(() -> new ItemStackHandler(MAX_FILTER_SLOTS) {
@@ -148,6 +164,14 @@ public abstract class SpiritEntity extends TamableAnimal implements ISkinnedCrea
     //initialized in getter, because super constructor already accesses it
     protected Optional<SpiritJob> job;
     protected boolean isInitialized = false;
+    /**
+     * The interval in ticks at which brain and job are updated, increased if no player is nearby.
+     */
+    protected int updateInterval = 1;
+    protected int ticksSinceUpdate;
+    protected boolean shouldTickBrain;
+    protected boolean isAbstracted;
+    protected int stationaryChecks;
 
     public SpiritEntity(EntityType<? extends SpiritEntity> type, Level worldIn) {
         this(type, worldIn, new ItemStackHandler(1));
@@ -179,7 +203,10 @@ public abstract class SpiritEntity extends TamableAnimal implements ISkinnedCrea
 
     @Override
     protected void customServerAiStep() {
-        this.tickBrain(this);
+        if (this.shouldTickBrain) {
+            this.shouldTickBrain = false;
+            this.tickBrain(this);
+        }
     }
 
     @Override
@@ -379,6 +406,21 @@ public abstract class SpiritEntity extends TamableAnimal implements ISkinnedCrea
         this.entityData.set(TAG_FILTER, tagFilter);
     }
 
+    /**
+     * @return true if the job is currently processing something.
+     */
+    public boolean isWorking() {
+        return this.entityData.get(IS_WORKING);
+    }
+
+    /**
+     * Sets whether the job is currently processing something.
+     * Only changes are synced, so this can safely be called every tick.
+     */
+    public void setWorking(boolean isWorking) {
+        this.entityData.set(IS_WORKING, isWorking);
+    }
+
     /**
      * @return the filter mode
      */
@@ -463,23 +505,143 @@ public abstract class SpiritEntity extends TamableAnimal implements ISkinnedCrea
                 this.init();
             }
 
-            //every 20 ticks = 1 second, age by 1 second
-            if (this.level().getGameTime() % 20 == 0 && !this.dead && this.canDieFromAge()) {
-                this.setSpiritAge(this.getSpiritAge() + 1);
-                if (this.getSpiritAge() > this.getSpiritMaxAge()) {
-                    this.die(this.damageSources().generic());
-                    this.remove(RemovalReason.DISCARDED);
-                }
+            if (this.tickCount % UPDATE_INTERVAL_CHECK_TICKS == 0) {
+                this.updateInterval = this.getUpdateInterval();
+                this.updateAbstraction();
             }
-            if (!this.dead)
-                this.getJob().ifPresent(SpiritJob::update);
+
+            //far away from players brain and job are updated less often, the job catches up on all passed ticks
+            this.ticksSinceUpdate++;
+            if (this.ticksSinceUpdate >= this.updateInterval) {
+                this.shouldTickBrain = true;
+                this.updateJob();
+            }
+        } else if (this.isWorking()) {
+            EffectParticles.spiritWorking(this.level(), this.position());
         }
         this.updateSwingTime();
         super.aiStep();
     }
 
+    @Override
+    public void tick() {
+        if (this.isAbstracted && !this.level().isClientSide) {
+            this.tickAbstracted();
+            return;
+        }
+        super.tick();
+    }
+
+    /**
+     * Abstracted spirits skip movement, navigation, goals and brain and only update their job.
+     * The base entity tick still runs, so they take fire, lava and suffocation damage, use up air and handle portals.
+     * Only crusher and trader spirits that stand still in their work area far from players are abstracted, see
+     * {@link SpiritJob#canSimulateAbstracted()}.
+     *
+     * @return true if the spirit is currently abstracted.
+     */
+    public boolean isAbstracted() {
+        return this.isAbstracted;
+    }
+
+    protected void tickAbstracted() {
+        //tickCount is already increased by the level before ticking the entity
+        this.baseTick();
+        if (this.isRemoved() || this.isDeadOrDying())
+            return;
+
+        if (this.hurtTime > 0 || this.isOnFire()) {
+            //let the spirit move out of harm's way
+            this.setAbstracted(false);
+            return;
+        }
+
+        if (this.tickCount % UPDATE_INTERVAL_CHECK_TICKS == 0) {
+            this.updateInterval = this.getUpdateInterval();
+            if (!this.canSimulateAbstracted()) {
+                //a player came close or the job changed, return to full simulation
+                this.setAbstracted(false);
+                return;
+            }
+        }
+
+        this.ticksSinceUpdate++;
+        if (this.ticksSinceUpdate >= this.updateInterval) {
+            this.updateJob();
+        }
+    }
+
+    protected void setAbstracted(boolean abstracted) {
+        this.isAbstracted = abstracted;
+        this.stationaryChecks = 0;
+        if (abstracted) {
+            this.getNavigation().stop();
+            this.setDeltaMovement(Vec3.ZERO);
+        }
+    }
+
+    /**
+     * Abstracts the spirit once it stood still long enough in its work area.
+     */
+    protected void updateAbstraction() {
+        if (this.canSimulateAbstracted() && this.getNavigation().isDone()
+                && this.getDeltaMovement().horizontalDistanceSqr() < 1.0E-4) {
+            this.stationaryChecks++;
+            if (this.stationaryChecks >= ABSTRACT_AFTER_STATIONARY_CHECKS)
+                this.setAbstracted(true);
+        } else {
+            this.stationaryChecks = 0;
+        }
+    }
+
+    protected boolean canSimulateAbstracted() {
+        int distance = Occultism.SERVER_CONFIG.spiritJobs.reducedTickDistance.get();
+        return distance > 0 && !this.dead
+                && this.getJob().map(SpiritJob::canSimulateAbstracted).orElse(false)
+                && this.blockPosition().closerThan(this.getWorkAreaCenter(), this.getWorkAreaSize().getValue())
+                && !this.level().hasNearbyAlivePlayer(this.getX(), this.getY(), this.getZ(), distance);
+    }
+
+    /**
+     * Ages the spirit and updates the job by all ticks passed since the last update.
+     */
+    protected void updateJob() {
+        int ticks = this.ticksSinceUpdate;
+        this.ticksSinceUpdate = 0;
+
+        //every 20 ticks = 1 second, age by 1 second
+        long gameTime = this.level().getGameTime();
+        int seconds = (int) (gameTime / 20 - (gameTime - ticks) / 20);
+        if (seconds > 0 && !this.dead && this.canDieFromAge()) {
+            this.setSpiritAge(this.getSpiritAge() + seconds);
+            if (this.getSpiritAge() > this.getSpiritMaxAge()) {
+                this.die(this.damageSources().generic());
+                this.remove(RemovalReason.DISCARDED);
+            }
+        }
+        if (!this.dead) {
+            if (this.isAbstracted)
+                this.getJob().ifPresent(job -> job.updateAbstracted(ticks));
+            else
+                this.getJob().ifPresent(job -> job.update(ticks));
+        }
+    }
+
+    /**
+     * @return the interval in ticks at which brain and job should be updated, based on the distance to players.
+     */
+    protected int getUpdateInterval() {
+        int distance = Occultism.SERVER_CONFIG.spiritJobs.reducedTickDistance.get();
+        if (distance <= 0 || this.level().hasNearbyAlivePlayer(this.getX(), this.getY(), this.getZ(), distance))
+            return 1;
+        return Occultism.SERVER_CONFIG.spiritJobs.reducedTickInterval.get();
+    }
+
     @Override
     public boolean hurt(DamageSource source, float amount) {
+        if (this.isAbstracted)
+            this.setAbstracted(false);
+
         if (this.isInvulnerableTo(source)) {
             return false;
         } else {
@@ -543,6 +705,7 @@ public abstract class SpiritEntity extends TamableAnimal implements ISkinnedCrea
         this.entityData.define(IS_FILTER_BLACKLIST, false);
         this.entityData.define(FILTER_ITEMS, new CompoundTag());
         this.entityData.define(TAG_FILTER, "");
+        this.entityData.define(IS_WORKING, false);
     }
 
     @Override
@@ -716,6 +879,7 @@ public abstract class SpiritEntity extends TamableAnimal implements ISkinnedCrea
     public void removeJob() {
         this.getJob().ifPresent(SpiritJob::cleanup);
         this.job = Optional.empty();
+        this.setWorking(false);
     }
 
     /**
@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.level;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.WorldGenRegion;
+import net.minecraft.world.entity.ai.village.poi.PoiTypes;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.ProtoChunk;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.material.FluidState;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Collects block changes of a worldgen feature and applies them grouped by chunk section.
+ * Reads go through the buffer, so code working on the buffer sees its own pending changes.
+ * Repeated writes to the same position only apply the last state, writes that do not change the level are skipped.
+ * Sections of the chunk currently generating are written directly, see {@link #flushSection(long, Long2ObjectMap)}.
+ */
+public class WorldGenBlockBuffer implements BlockGetter {
+
+    protected final WorldGenLevel level;
+    protected final int flags;
+    //section position -> block position -> pending state
+    protected final Long2ObjectMap<Long2ObjectMap<BlockState>> sections = new Long2ObjectLinkedOpenHashMap<>();
+
+    /**
+     * @param level the level to write to.
+     * @param flags the block update flags used when flushing.
+     */
+    public WorldGenBlockBuffer(WorldGenLevel level, int flags) {
+        this.level = level;
+        this.flags = flags;
+    }
+
+    public WorldGenLevel getLevel() {
+        return this.level;
+    }
+
+    public void setBlock(BlockPos pos, BlockState state) {
+        this.sections.computeIfAbsent(SectionPos.asLong(pos), k -> new Long2ObjectLinkedOpenHashMap<>())
+                .put(pos.asLong(), state);
+    }
+
+    public boolean isEmptyBlock(BlockPos pos) {
+        return this.getBlockState(pos).isAir();
+    }
+
+    /**
+     * Applies all pending changes to the level, section by section, and empties the buffer.
+     */
+    public void flush() {
+        for (Long2ObjectMap.Entry<Long2ObjectMap<BlockState>> entry : this.sections.long2ObjectEntrySet()) {
+            if (!this.flushSection(entry.getLongKey(), entry.getValue()))
+                this.flushToLevel(entry.getValue().long2ObjectEntrySet());
+        }
+        this.sections.clear();
+    }
+
+    /**
+     * Writes the pending changes of a section directly into the chunk section, under a single section lock, and
+     * updates the heightmaps the same way {@link ProtoChunk#setBlockState(BlockPos, BlockState, boolean)} does.
+     * This is only possible for the proto chunk currently generating its features. Changes that need more than that
+     * (block entities, post processing, points of interest) still go through the level.
+     *
+     * @return false if the section cannot be written directly.
+     */
+    protected boolean flushSection(long sectionPos, Long2ObjectMap<BlockState> states) {
+        if (!(this.level instanceof WorldGenRegion region))
+            return false;
+
+        ChunkPos center = region.getCenter();
+        if (SectionPos.x(sectionPos) != center.x || SectionPos.z(sectionPos) != center.z)
+            return false;
+
+        ChunkAccess chunk = region.getChunk(center.x, center.z);
+        //light and heightmaps of later statuses need the regular path
+        if (!(chunk instanceof ProtoChunk) || chunk.getStatus().isOrAfter(ChunkStatus.FEATURES))
+            return false;
+
+        int sectionIndex = chunk.getSectionIndexFromSectionY(SectionPos.y(sectionPos));
+        if (sectionIndex < 0 || sectionIndex >= chunk.getSectionsCount())
+            return false;
+
+        LevelChunkSection section = chunk.getSection(sectionIndex);
+        List<Heightmap> heightmaps = this.getHeightmaps(chunk);
+        List<Long2ObjectMap.Entry<BlockState>> levelWrites = new ArrayList<>();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        boolean changed = false;
+
+        section.acquire();
+        try {
+            for (Long2ObjectMap.Entry<BlockState> entry : states.long2ObjectEntrySet()) {
+                pos.set(entry.getLongKey());
+                int x = SectionPos.sectionRelative(pos.getX());
+                int y = SectionPos.sectionRelative(pos.getY());
+                int z = SectionPos.sectionRelative(pos.getZ());
+                BlockState state = entry.getValue();
+                BlockState previous = section.getBlockState(x, y, z);
+                if (previous == state)
+                    continue;
+
+                if (this.needsLevelWrite(chunk, pos, previous, state)) {
+                    //the level locks the section itself, so these are applied after releasing it
+                    levelWrites.add(entry);
+                    continue;
+                }
+
+                section.setBlockState(x, y, z, state, false);
+                for (Heightmap heightmap : heightmaps) {
+                    heightmap.update(x, pos.getY(), z, state);
+                }
+                changed = true;
+            }
+        } finally {
+            section.release();
+        }
+
+        if (changed)
+            chunk.setUnsaved(true);
+        this.flushToLevel(levelWrites);
+        return true;
+    }
+
+    protected void flushToLevel(Collection<Long2ObjectMap.Entry<BlockState>> states) {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (Long2ObjectMap.Entry<BlockState> entry : states) {
+            pos.set(entry.getLongKey());
+            if (this.level.getBlockState(pos) != entry.getValue())
+                this.level.setBlock(pos, entry.getValue(), this.flags);
+        }
+    }
+
+    /**
+     * @return true if the change has side effects beyond the block state and heightmaps, that only the level handles.
+     */
+    protected boolean needsLevelWrite(ChunkAccess chunk, BlockPos pos, BlockState previous, BlockState state) {
+        return previous.hasBlockEntity() || state.hasBlockEntity() || state.hasPostProcess(chunk, pos) ||
+                PoiTypes.forState(previous).isPresent() || PoiTypes.forState(state).isPresent();
+    }
+
+    /**
+     * Gets the heightmaps a proto chunk keeps up to date in its current status, priming missing ones like the proto
+     * chunk would.
+     */
+    protected List<Heightmap> getHeightmaps(ChunkAccess chunk) {
+        EnumSet<Heightmap.Types> types = chunk.getStatus().heightmapsAfter();
+        EnumSet<Heightmap.Types> unprimed = EnumSet.noneOf(Heightmap.Types.class);
+        for (Heightmap.Types type : types) {
+            if (!chunk.hasPrimedHeightmap(type))
+                unprimed.add(type);
+        }
+        if (!unprimed.isEmpty())
+            Heightmap.primeHeightmaps(chunk, unprimed);
+
+        List<Heightmap> heightmaps = new ArrayList<>(types.size());
+        for (Heightmap.Types type : types) {
+            heightmaps.add(chunk.getOrCreateHeightmapUnprimed(type));
+        }
+        return heightmaps;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        Long2ObjectMap<BlockState> section = this.sections.get(SectionPos.asLong(pos));
+        if (section != null) {
+            BlockState state = section.get(pos.asLong());
+            if (state != null)
+                return state;
+        }
+        return this.level.getBlockState(pos);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return this.getBlockState(pos).getFluidState();
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return this.level.getBlockEntity(pos);
+    }
+
+    @Override
+    public int getHeight() {
+        return this.level.getHeight();
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return this.level.getMinBuildHeight();
+    }
+}
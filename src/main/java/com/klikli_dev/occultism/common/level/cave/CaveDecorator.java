@@ -22,11 +22,13 @@
 
 package com.klikli_dev.occultism.common.level.cave;
 
+import com.klikli_dev.occultism.common.level.WorldGenBlockBuffer;
 import com.klikli_dev.occultism.common.level.multichunk.MultiChunkFeatureConfig;
 import com.klikli_dev.occultism.registry.OccultismTags;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkGenerator;
@@ -53,47 +55,47 @@ public abstract class CaveDecorator implements ICaveDecorator {
     }
 
     @Override
-    public void fill(WorldGenLevel seedReader, ChunkGenerator generator, RandomSource rand,
+    public void fill(WorldGenBlockBuffer buffer, ChunkGenerator generator, RandomSource rand,
                      BlockPos pos, CaveDecoratordata data, MultiChunkFeatureConfig config) {
-        BlockState state = seedReader.getBlockState(pos);
-        if (state.getDestroySpeed(seedReader, pos) == -1 || seedReader.canSeeSkyFromBelowWater(pos))
+        BlockState state = buffer.getBlockState(pos);
+        if (state.getDestroySpeed(buffer, pos) == -1 || buffer.getLevel().canSeeSkyFromBelowWater(pos))
             return;
 
-        if (this.isFloor(seedReader, pos, state)) {
+        if (this.isFloor(buffer, pos, state)) {
             data.floorBlocks.add(pos);
-            this.fillFloor(seedReader, generator, rand, pos, state, config);
-        } else if (this.isCeiling(seedReader, pos, state)) {
+            this.fillFloor(buffer, generator, rand, pos, state, config);
+        } else if (this.isCeiling(buffer, pos, state)) {
             data.ceilingBlocks.add(pos);
-            this.fillCeiling(seedReader, generator, rand, pos, state, config);
-        } else if (this.isWall(seedReader, pos, state)) {
-            data.wallBlocks.put(pos, this.getBorderDirection(seedReader, pos));
-            this.fillWall(seedReader, generator, rand, pos, state, config);
+            this.fillCeiling(buffer, generator, rand, pos, state, config);
+        } else if (this.isWall(buffer, pos, state)) {
+            data.wallBlocks.put(pos, this.getBorderDirection(buffer, pos));
+            this.fillWall(buffer, generator, rand, pos, state, config);
         } else if (this.isInside(state)) {
             data.insideBlocks.add(pos);
-            this.fillInside(seedReader, generator, rand, pos, state, config);
+            this.fillInside(buffer, generator, rand, pos, state, config);
         }
     }
 
-    public void fillFloor(WorldGenLevel seedReader, ChunkGenerator generator, RandomSource rand,
+    public void fillFloor(WorldGenBlockBuffer buffer, ChunkGenerator generator, RandomSource rand,
                           BlockPos pos, BlockState state, MultiChunkFeatureConfig config) {
         if (this.floorState != null) {
-            seedReader.setBlock(pos, this.floorState, 2);
+            buffer.setBlock(pos, this.floorState);
         }
     }
 
-    public void fillCeiling(WorldGenLevel seedReader, ChunkGenerator generator, RandomSource rand,
+    public void fillCeiling(WorldGenBlockBuffer buffer, ChunkGenerator generator, RandomSource rand,
                             BlockPos pos, BlockState state, MultiChunkFeatureConfig config) {
         if (this.ceilingState != null)
-            seedReader.setBlock(pos, this.ceilingState, 2);
+            buffer.setBlock(pos, this.ceilingState);
     }
 
-    public void fillWall(WorldGenLevel seedReader, ChunkGenerator generator, RandomSource rand,
+    public void fillWall(WorldGenBlockBuffer buffer, ChunkGenerator generator, RandomSource rand,
                          BlockPos pos, BlockState state, MultiChunkFeatureConfig config) {
         if (this.wallState != null)
-            seedReader.setBlock(pos, this.wallState, 2);
+            buffer.setBlock(pos, this.wallState);
     }
 
-    public void fillInside(WorldGenLevel seedReader, ChunkGenerator generator, RandomSource rand,
+    public void fillInside(WorldGenBlockBuffer buffer, ChunkGenerator generator, RandomSource rand,
                            BlockPos pos, BlockState state, MultiChunkFeatureConfig config) {
         //level.setBlockState(pos, Blocks.AIR.defaultBlockState(), 2);
     }
@@ -114,44 +116,43 @@ public abstract class CaveDecorator implements ICaveDecorator {
                                 BlockPos pos, MultiChunkFeatureConfig config) {
     }
 
-    public boolean isFloor(WorldGenLevel seedReader, BlockPos pos, BlockState state) {
-        if (!state.isSolidRender(seedReader, pos))
+    public boolean isFloor(BlockGetter level, BlockPos pos, BlockState state) {
+        if (!state.isSolidRender(level, pos))
             return false;
 
-        BlockPos upPos = pos.above();
-        return seedReader.isEmptyBlock(upPos) || seedReader.getBlockState(upPos).canBeReplaced();
+        BlockState upState = level.getBlockState(pos.above());
+        return upState.isAir() || upState.canBeReplaced();
     }
 
-    public boolean isCeiling(WorldGenLevel seedReader, BlockPos pos, BlockState state) {
-        if (!state.isSolidRender(seedReader, pos))
+    public boolean isCeiling(BlockGetter level, BlockPos pos, BlockState state) {
+        if (!state.isSolidRender(level, pos))
             return false;
 
         BlockPos downPos = pos.below();
-        return seedReader.isEmptyBlock(downPos); // || level.getBlockState(downPos).getBlock().isReplaceable(level, downPos);
+        return level.getBlockState(downPos).isAir(); // || level.getBlockState(downPos).getBlock().isReplaceable(level, downPos);
     }
 
-    public boolean isWall(WorldGenLevel seedReader, BlockPos pos, BlockState state) {
-        if (!state.isSolidRender(seedReader, pos) || !this.isStone(state))
+    public boolean isWall(BlockGetter level, BlockPos pos, BlockState state) {
+        if (!state.isSolidRender(level, pos) || !this.isStone(state))
             return false;
 
-        return this.isBorder(seedReader, pos);
+        return this.isBorder(level, pos);
     }
 
-    public Direction getBorderDirection(WorldGenLevel seedReader, BlockPos pos) {
-        BlockState state = seedReader.getBlockState(pos);
+    public Direction getBorderDirection(BlockGetter level, BlockPos pos) {
+        BlockState state = level.getBlockState(pos);
         for (Direction facing : Direction.Plane.HORIZONTAL) {
-            BlockPos offsetPos = pos.relative(facing);
-            BlockState stateAt = seedReader.getBlockState(offsetPos);
+            BlockState stateAt = level.getBlockState(pos.relative(facing));
 
-            if (state != stateAt && seedReader.isEmptyBlock(offsetPos) || stateAt.canBeReplaced())
+            if (state != stateAt && stateAt.isAir() || stateAt.canBeReplaced())
                 return facing;
         }
 
         return null;
     }
 
-    public boolean isBorder(WorldGenLevel seedReader, BlockPos pos) {
-        return this.getBorderDirection(seedReader, pos) != null;
+    public boolean isBorder(BlockGetter level, BlockPos pos) {
+        return this.getBorderDirection(level, pos) != null;
     }
 
     public boolean isInside(BlockState state) {
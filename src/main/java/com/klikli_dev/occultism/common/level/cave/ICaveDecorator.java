@@ -22,6 +22,7 @@
 
 package com.klikli_dev.occultism.common.level.cave;
 
+import com.klikli_dev.occultism.common.level.WorldGenBlockBuffer;
 import com.klikli_dev.occultism.common.level.multichunk.MultiChunkFeatureConfig;
 import net.minecraft.core.BlockPos;
 import net.minecraft.util.RandomSource;
@@ -33,6 +34,9 @@ public interface ICaveDecorator {
     void finalPass(WorldGenLevel seedReader, ChunkGenerator generator, RandomSource rand,
                    CaveDecoratordata data, MultiChunkFeatureConfig config);
 
-    void fill(WorldGenLevel seedReader, ChunkGenerator generator, RandomSource rand,
+    /**
+     * Decorates the given position. Changes are collected in the buffer and applied before {@link #finalPass}.
+     */
+    void fill(WorldGenBlockBuffer buffer, ChunkGenerator generator, RandomSource rand,
               BlockPos pos, CaveDecoratordata data, MultiChunkFeatureConfig config);
 }
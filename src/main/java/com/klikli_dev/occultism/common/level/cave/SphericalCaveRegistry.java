@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.level.cave;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keeps track of the root positions of generated spherical caves for debugging, grouped by region.
+ * Worldgen runs on multiple threads, so all access is synchronized. Memory is bounded: each region keeps at most
+ * {@link #MAX_CAVES_PER_REGION} caves, preferring the lowest positions so the kept caves do not depend on generation
+ * order, and only the {@link #MAX_REGIONS} most recently used regions are kept.
+ * Cave generation never reads this registry, so evictions cannot affect the generated world.
+ */
+public class SphericalCaveRegistry {
+
+    public static final int REGION_SIZE_CHUNKS = 32;
+    public static final int MAX_REGIONS = 256;
+    public static final int MAX_CAVES_PER_REGION = 64;
+
+    private static final Map<Region, TreeSet<BlockPos>> regions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Region, TreeSet<BlockPos>> eldest) {
+            return this.size() > MAX_REGIONS;
+        }
+    };
+
+    public static synchronized void add(ResourceKey<Level> dimension, BlockPos rootPosition) {
+        Region region = new Region(dimension,
+                Math.floorDiv(SectionPos.blockToSectionCoord(rootPosition.getX()), REGION_SIZE_CHUNKS),
+                Math.floorDiv(SectionPos.blockToSectionCoord(rootPosition.getZ()), REGION_SIZE_CHUNKS));
+        TreeSet<BlockPos> caves = regions.computeIfAbsent(region, k -> new TreeSet<>());
+        caves.add(rootPosition.immutable());
+        if (caves.size() > MAX_CAVES_PER_REGION)
+            caves.pollLast();
+    }
+
+    /**
+     * @return the amount of tracked caves.
+     */
+    public static synchronized int size() {
+        return regions.values().stream().mapToInt(TreeSet::size).sum();
+    }
+
+    /**
+     * @return the amount of tracked regions.
+     */
+    public static synchronized int regionCount() {
+        return regions.size();
+    }
+
+    public static synchronized void clear() {
+        regions.clear();
+    }
+
+    protected record Region(ResourceKey<Level> dimension, int x, int z) {
+    }
+}
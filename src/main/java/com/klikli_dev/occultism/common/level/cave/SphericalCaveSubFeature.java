@@ -22,6 +22,7 @@
 
 package com.klikli_dev.occultism.common.level.cave;
 
+import com.klikli_dev.occultism.common.level.WorldGenBlockBuffer;
 import com.klikli_dev.occultism.common.level.multichunk.IMultiChunkSubFeature;
 import com.klikli_dev.occultism.common.level.multichunk.MultiChunkFeature;
 import com.klikli_dev.occultism.common.level.multichunk.MultiChunkFeatureConfig;
@@ -39,13 +40,10 @@ import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.phys.AABB;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 public class SphericalCaveSubFeature implements IMultiChunkSubFeature {
 
-    public static Set<BlockPos> sphericalCaves = new HashSet<>();
     protected ICaveDecorator caveDecorator;
     protected int radius;
     protected int maxRandomRadiusOffset;
@@ -84,8 +82,8 @@ public class SphericalCaveSubFeature implements IMultiChunkSubFeature {
         if (reader.canSeeSkyFromBelowWater(rootPosition))
             return false;
 
-        //Store a list of spherical caves for easy access during development, or future command access.
-        sphericalCaves.add(rootPosition);
+        //Store a list of spherical caves for easy access during development, see /occultism debug caves.
+        SphericalCaveRegistry.add(reader.getLevel().dimension(), rootPosition);
 
         ChunkPos rootChunk = new ChunkPos(rootPosition);
 
@@ -93,6 +91,8 @@ public class SphericalCaveSubFeature implements IMultiChunkSubFeature {
         var seed = MultiChunkFeature.getLargeFeatureWithSaltSeed(reader.getSeed(), rootChunk.x, rootChunk.z, config.featureSeedSalt);
         rand.setSeed(seed);
 
+        //block changes are collected and applied per chunk section before the decorator's final pass
+        WorldGenBlockBuffer buffer = new WorldGenBlockBuffer(reader, 2);
         List<Sphere> spheres = new ArrayList<>();
         int radiusBase = this.radius + rand.nextInt(this.maxRandomRadiusOffset);
         int radius = (int) (radiusBase * 0.2F) + rand.nextInt(8);
@@ -103,8 +103,8 @@ public class SphericalCaveSubFeature implements IMultiChunkSubFeature {
                     2 * (int) (radius / 3F) + rand.nextInt(8), bounds));
         }
         for (Sphere sphere : spheres) {
-            this.hollowOutSphere(reader, rand, sphere.center, sphere.radius - 2, bounds);
-            this.decorateSphere(reader, generator, rand, sphere.center, sphere.radius + 2, bounds, config);
+            this.hollowOutSphere(buffer, rand, sphere.center, sphere.radius - 2, bounds);
+            this.decorateSphere(buffer, generator, rand, sphere.center, sphere.radius + 2, bounds, config);
         }
         spheres.clear();
         return true;
@@ -114,7 +114,7 @@ public class SphericalCaveSubFeature implements IMultiChunkSubFeature {
         return new Sphere(position, radius);
     }
 
-    protected void hollowOutSphere(WorldGenLevel reader, RandomSource rand, BlockPos center, int radius, AABB bounds) {
+    protected void hollowOutSphere(WorldGenBlockBuffer buffer, RandomSource rand, BlockPos center, int radius, AABB bounds) {
         int j = radius;
         int k = radius / 2;
         int l = radius;
@@ -124,13 +124,13 @@ public class SphericalCaveSubFeature implements IMultiChunkSubFeature {
 
         BlockPos.betweenClosed(min, max).forEach(blockPos -> {
             if (blockPos.distSqr(center) <= (double) (f * f * Mth.clamp(rand.nextFloat(), 0.75F, 1.0F))) {
-                BlockState currentState = reader.getBlockState(blockPos);
-                this.setBlockSafely(reader, blockPos, currentState, Blocks.CAVE_AIR.defaultBlockState(), 2);
+                BlockState currentState = buffer.getBlockState(blockPos);
+                this.setBlockSafely(buffer, blockPos, currentState, Blocks.CAVE_AIR.defaultBlockState());
             }
         });
     }
 
-    protected void decorateSphere(WorldGenLevel reader, ChunkGenerator generator, RandomSource rand,
+    protected void decorateSphere(WorldGenBlockBuffer buffer, ChunkGenerator generator, RandomSource rand,
                                   BlockPos center, int radius, AABB bounds, MultiChunkFeatureConfig config) {
         int j = radius;
         //int k = radius / 2;
@@ -142,18 +142,20 @@ public class SphericalCaveSubFeature implements IMultiChunkSubFeature {
         BlockPos max = Math3DUtil.clamp(center.offset(j, k, l), bounds);
         BlockPos.betweenClosed(min, max).forEach(blockPos -> {
             if (blockPos.distSqr(center) <= (double) (f * f)) {
-                this.caveDecorator.fill(reader, generator, rand, blockPos.immutable(), data, config);
+                this.caveDecorator.fill(buffer, generator, rand, blockPos.immutable(), data, config);
             }
         });
 
-        this.caveDecorator.finalPass(reader, generator, rand, data, config);
+        //the final pass places features such as trees that work on the level directly
+        buffer.flush();
+        this.caveDecorator.finalPass(buffer.getLevel(), generator, rand, data, config);
     }
 
-    protected void setBlockSafely(WorldGenLevel level, BlockPos pPos, BlockState pCurrentState, BlockState pNewState, int pFlags) {
+    protected void setBlockSafely(WorldGenBlockBuffer buffer, BlockPos pPos, BlockState pCurrentState, BlockState pNewState) {
         if (pCurrentState.hasBlockEntity() || pCurrentState.getBlock() == Blocks.BEDROCK || pCurrentState.is(OccultismTags.WORLDGEN_BLACKLIST)) {
             return;
         }
-        level.setBlock(pPos, pNewState, pFlags);
+        buffer.setBlock(pPos, pNewState);
     }
 
     public class Sphere {
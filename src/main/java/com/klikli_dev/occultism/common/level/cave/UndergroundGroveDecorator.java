@@ -73,14 +73,12 @@ public class UndergroundGroveDecorator extends CaveDecorator {
             BlockPos up = offset.above();
             if (this.isCeiling(seedReader, up, seedReader.getBlockState(up)) &&
                     rand.nextFloat() < config.vineChance) {
-                BlockState stateAt = seedReader.getBlockState(offset);
+                BlockState vine = Blocks.VINE.defaultBlockState().setValue(VineBlock.getPropertyForFace(facing.getOpposite()), true);
+                BlockPos.MutableBlockPos vinePos = offset.mutable();
                 boolean spawnedVine = false;
-                while (stateAt.isAir() && offset.getY() > 0) {
-                    seedReader.setBlock(offset,
-                            Blocks.VINE.defaultBlockState().setValue(VineBlock.getPropertyForFace(facing.getOpposite()), true),
-                            2);
-                    offset = offset.below();
-                    stateAt = seedReader.getBlockState(offset);
+                while (vinePos.getY() > 0 && seedReader.getBlockState(vinePos).isAir()) {
+                    seedReader.setBlock(vinePos, vine, 2);
+                    vinePos.move(Direction.DOWN);
                     spawnedVine = true;
                 }
 
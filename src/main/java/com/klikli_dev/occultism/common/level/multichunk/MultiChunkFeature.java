@@ -34,48 +34,28 @@ import net.minecraft.world.level.levelgen.XoroshiroRandomSource;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class MultiChunkFeature extends Feature<MultiChunkFeatureConfig> {
 
     public final IMultiChunkSubFeature subFeature;
 
+    protected final RootPositionCache rootPositionCache = new RootPositionCache();
+
     public MultiChunkFeature(Codec<MultiChunkFeatureConfig> codec, IMultiChunkSubFeature subFeature) {
         super(codec);
         this.subFeature = subFeature;
     }
 
     public static long getLargeFeatureWithSaltSeed(long pLevelSeed, int pRegionX, int pRegionZ, int pSalt) {
-        return (long) pRegionX * 341873128712L + (long) pRegionZ * 132897987541L + pLevelSeed + (long) pSalt;
+        return RootPositionCache.getLargeFeatureWithSaltSeed(pLevelSeed, pRegionX, pRegionZ, pSalt);
     }
 
     protected List<BlockPos> getRootPositions(WorldGenLevel reader, ChunkGenerator generator, RandomSource random,
                                               ChunkPos generatingChunk,
                                               MultiChunkFeatureConfig config) {
-        ArrayList<BlockPos> result = new ArrayList<>(1);
-        for (int i = -config.maxChunksToRoot; i < config.maxChunksToRoot; i++) {
-            for (int j = -config.maxChunksToRoot; j < config.maxChunksToRoot; j++) {
-
-                ChunkPos currentChunk = new ChunkPos(generatingChunk.x + i, generatingChunk.z + j);
-
-                //Seed random for this chunk, this way we get the same result no matter how often this is called.
-                var seed = getLargeFeatureWithSaltSeed(reader.getSeed(), currentChunk.x, currentChunk.z, config.featureSeedSalt);
-                random.setSeed(seed);
-
-                if (random.nextInt(config.chanceToGenerate) == 0) {
-                    //this chunk contains a root, so we generate a random
-                    result.add(currentChunk.getWorldPosition().offset(
-                            random.nextInt(15),
-                            Math.min(generator.getGenDepth(),
-                                    config.minGenerationHeight + random.nextInt(
-                                            Math.max(0, config.maxGenerationHeight - config.minGenerationHeight))),
-                            random.nextInt(15))
-                    );
-                }
-            }
-        }
-        return result;
+        return this.rootPositionCache.getRootPositions(reader.getSeed(), generator.getGenDepth(), random, generatingChunk,
+                config.rootSettings);
     }
 
     @Override
@@ -107,4 +87,5 @@ public class MultiChunkFeature extends Feature<MultiChunkFeatureConfig> {
 
         return false;
     }
+
 }
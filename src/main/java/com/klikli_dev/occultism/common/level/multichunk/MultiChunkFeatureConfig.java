@@ -74,6 +74,7 @@ public class MultiChunkFeatureConfig implements FeatureConfiguration {
     public final float vineChance;
     public final float ceilingLightChance;
     public final Holder<PlacedFeature> otherworldTreeFeature;
+    public final RootPositionCache.Settings rootSettings;
 
 
     public MultiChunkFeatureConfig(int maxChunksToRoot, int chanceToGenerate, int minGenerationHeight,
@@ -90,5 +91,7 @@ public class MultiChunkFeatureConfig implements FeatureConfiguration {
         this.vineChance = vineChance;
         this.ceilingLightChance = ceilingLightChance;
         this.otherworldTreeFeature = otherworldTreeFeature;
+        this.rootSettings = new RootPositionCache.Settings(maxChunksToRoot, chanceToGenerate, minGenerationHeight,
+                maxGenerationHeight, featureSeedSalt);
     }
 }
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.level.multichunk;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkPos;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Finds and caches the root positions of a {@link MultiChunkFeature}.
+ * Neighbouring chunks search mostly the same area for roots, so each chunk's root is computed once and shared.
+ * Worldgen runs on multiple threads, so access to the cache is synchronized.
+ */
+public class RootPositionCache {
+
+    /**
+     * The maximum amount of chunks to cache root positions for.
+     * Neighbouring chunks share most of their root search area, so this only needs to cover the chunks currently generating.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 16384;
+
+    /**
+     * Root position per chunk, empty if the chunk has no root.
+     */
+    protected final Map<RootKey, Optional<BlockPos>> cache;
+
+    public RootPositionCache() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public RootPositionCache(int cacheSize) {
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RootKey, Optional<BlockPos>> eldest) {
+                return this.size() > cacheSize;
+            }
+        };
+    }
+
+    public static long getLargeFeatureWithSaltSeed(long pLevelSeed, int pRegionX, int pRegionZ, int pSalt) {
+        return (long) pRegionX * 341873128712L + (long) pRegionZ * 132897987541L + pLevelSeed + (long) pSalt;
+    }
+
+    /**
+     * Gets the root position of the feature in the given chunk, if it contains one.
+     * The random is re-seeded for the chunk, this way we get the same result no matter how often this is called.
+     */
+    @Nullable
+    public static BlockPos computeRootPosition(long levelSeed, int genDepth, RandomSource random, int chunkX, int chunkZ,
+                                               Settings settings) {
+        random.setSeed(getLargeFeatureWithSaltSeed(levelSeed, chunkX, chunkZ, settings.featureSeedSalt()));
+
+        if (random.nextInt(settings.chanceToGenerate()) == 0) {
+            //this chunk contains a root, so we generate a random
+            return new ChunkPos(chunkX, chunkZ).getWorldPosition().offset(
+                    random.nextInt(15),
+                    Math.min(genDepth,
+                            settings.minGenerationHeight() + random.nextInt(
+                                    Math.max(0, settings.maxGenerationHeight() - settings.minGenerationHeight()))),
+                    random.nextInt(15));
+        }
+        return null;
+    }
+
+    /**
+     * Gets the root positions within {@link Settings#maxChunksToRoot()} of the generating chunk.
+     * The random is left in the same state as if all roots were computed on it, as the caller keeps using it.
+     */
+    public List<BlockPos> getRootPositions(long levelSeed, int genDepth, RandomSource random, ChunkPos generatingChunk,
+                                           Settings settings) {
+        ArrayList<BlockPos> result = new ArrayList<>(1);
+        if (settings.maxChunksToRoot() <= 0)
+            return result;
+
+        int lastX = generatingChunk.x + settings.maxChunksToRoot() - 1;
+        int lastZ = generatingChunk.z + settings.maxChunksToRoot() - 1;
+
+        synchronized (this.cache) {
+            for (int i = -settings.maxChunksToRoot(); i < settings.maxChunksToRoot(); i++) {
+                for (int j = -settings.maxChunksToRoot(); j < settings.maxChunksToRoot(); j++) {
+                    int chunkX = generatingChunk.x + i;
+                    int chunkZ = generatingChunk.z + j;
+                    if (chunkX == lastX && chunkZ == lastZ)
+                        continue; //computed below, outside the cache
+
+                    RootKey key = new RootKey(levelSeed, ChunkPos.asLong(chunkX, chunkZ), genDepth, settings);
+                    Optional<BlockPos> root = this.cache.get(key);
+                    if (root == null) {
+                        root = Optional.ofNullable(computeRootPosition(levelSeed, genDepth, random, chunkX, chunkZ, settings));
+                        this.cache.put(key, root);
+                    }
+                    root.ifPresent(result::add);
+                }
+            }
+        }
+
+        //The last chunk is always computed on the given random, so it is left in the same state as without the cache.
+        //Sub features continue to use that random, so this keeps generation identical for a given seed.
+        BlockPos lastRoot = computeRootPosition(levelSeed, genDepth, random, lastX, lastZ, settings);
+        if (lastRoot != null)
+            result.add(lastRoot);
+
+        return result;
+    }
+
+    public int size() {
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
+    }
+
+    /**
+     * The parts of a {@link MultiChunkFeatureConfig} that determine root positions.
+     */
+    public record Settings(int maxChunksToRoot, int chanceToGenerate, int minGenerationHeight, int maxGenerationHeight,
+                           int featureSeedSalt) {
+    }
+
+    /**
+     * Everything that determines the root position of a chunk.
+     */
+    protected record RootKey(long levelSeed, long chunkPos, int genDepth, Settings settings) {
+    }
+}
@@ -23,6 +23,7 @@
 package com.klikli_dev.occultism.common.misc;
 
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.util.INBTSerializable;
 
 public class DepositOrder implements INBTSerializable<CompoundTag> {
@@ -46,6 +47,40 @@ public class DepositOrder implements INBTSerializable<CompoundTag> {
     }
     //endregion Static Methods
 
+    /**
+     * @return the max amount of items a single order can request, spirits carry one stack at a time.
+     */
+    public int getMaxAmount() {
+        return this.comparator.getFilterStack().getMaxStackSize();
+    }
+
+    /**
+     * @param other the other order.
+     * @return true if the other order requests the same items, so both can be delivered in one trip.
+     */
+    public boolean canMerge(DepositOrder other) {
+        if (this.comparator == null || other.comparator == null ||
+                this.comparator.getMatchNbt() != other.comparator.getMatchNbt())
+            return false;
+
+        ItemStack filterStack = this.comparator.getFilterStack();
+        ItemStack otherFilterStack = other.comparator.getFilterStack();
+        if (this.comparator.getMatchNbt())
+            return ItemStack.isSameItemSameTags(filterStack, otherFilterStack);
+        return filterStack.getItem() == otherFilterStack.getItem();
+    }
+
+    /**
+     * Moves as many items as possible from the other order into this order, up to {@link #getMaxAmount()}.
+     *
+     * @param other the other order, needs to be mergeable, see {@link #canMerge(DepositOrder)}.
+     */
+    public void merge(DepositOrder other) {
+        int merged = Math.max(0, Math.min(other.amount, this.getMaxAmount() - this.amount));
+        this.amount += merged;
+        other.amount -= merged;
+    }
+
     public CompoundTag writeToNBT(CompoundTag compound) {
         compound.put("comparator", this.comparator.serializeNBT());
         compound.putInt("amount", this.amount);
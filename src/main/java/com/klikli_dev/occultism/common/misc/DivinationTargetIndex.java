@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.misc;
+
+import com.klikli_dev.occultism.registry.OccultismBlocks;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.*;
+
+/**
+ * Per-level index of the blocks the divination rod can be attuned to, used to answer divination rod searches on the
+ * server instead of scanning the terrain on the client.
+ * Chunks are scanned lazily the first time a search touches them, afterwards they are kept up to date from block
+ * change notifications and dropped again when the chunk unloads.
+ * Only accessed from the server thread.
+ */
+public class DivinationTargetIndex {
+
+    /**
+     * Block changes that do not notify neighbours are not seen by the index, so chunks are rescanned after this time
+     * as a fallback.
+     */
+    public static final int CHUNK_RESCAN_INTERVAL_TICKS = 20 * 60 * 5;
+
+    private static final Map<ServerLevel, DivinationTargetIndex> indices = new WeakHashMap<>();
+    private static Set<Block> targets;
+
+    private final ServerLevel level;
+    private final Long2ObjectMap<ChunkEntry> chunks = new Long2ObjectOpenHashMap<>();
+
+    protected DivinationTargetIndex(ServerLevel level) {
+        this.level = level;
+    }
+
+    public static DivinationTargetIndex get(ServerLevel level) {
+        return indices.computeIfAbsent(level, DivinationTargetIndex::new);
+    }
+
+    /**
+     * @return the blocks the divination rod can be attuned to in survival, see DivinationRodItem#getOtherBlock.
+     */
+    public static Set<Block> getTargets() {
+        if (targets == null) {
+            targets = Set.of(
+                    OccultismBlocks.OTHERSTONE_NATURAL.get(),
+                    OccultismBlocks.OTHERWORLD_LOG_NATURAL.get(),
+                    OccultismBlocks.OTHERWORLD_LEAVES_NATURAL.get(),
+                    OccultismBlocks.IESNIUM_ORE_NATURAL.get()
+            );
+        }
+        return targets;
+    }
+
+    public static boolean isTarget(Block block) {
+        return getTargets().contains(block);
+    }
+
+    public static void onBlockChanged(LevelAccessor level, BlockPos pos, BlockState state) {
+        if (level instanceof ServerLevel serverLevel) {
+            DivinationTargetIndex index = indices.get(serverLevel);
+            if (index != null)
+                index.update(pos, state);
+        }
+    }
+
+    public static void onChunkChanged(LevelAccessor level, ChunkPos pos) {
+        if (level instanceof ServerLevel serverLevel) {
+            DivinationTargetIndex index = indices.get(serverLevel);
+            if (index != null)
+                index.chunks.remove(pos.toLong());
+        }
+    }
+
+    public static void onLevelUnload(LevelAccessor level) {
+        if (level instanceof ServerLevel serverLevel) {
+            indices.remove(serverLevel);
+        }
+    }
+
+    /**
+     * Finds all indexed blocks of the given type within the given range. Chunks that are not loaded are skipped.
+     *
+     * @param target the block to find, needs to be one of {@link #getTargets()}.
+     * @param center the center of the search.
+     * @param range  the search radius in blocks.
+     * @return a new, mutable list of the found positions.
+     */
+    public List<BlockPos> find(Block target, Vec3 center, int range) {
+        List<BlockPos> result = new ArrayList<>();
+        double rangeSquared = (double) range * range;
+        long gameTime = this.level.getGameTime();
+        for (int chunkX = SectionPos.blockToSectionCoord(center.x - range); chunkX <= SectionPos.blockToSectionCoord(center.x + range); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(center.z - range); chunkZ <= SectionPos.blockToSectionCoord(center.z + range); chunkZ++) {
+                if (!this.level.hasChunk(chunkX, chunkZ))
+                    continue;
+
+                LongSet positions = this.getOrScan(chunkX, chunkZ, gameTime).targets.get(target);
+                if (positions == null)
+                    continue;
+
+                LongIterator iterator = positions.iterator();
+                while (iterator.hasNext()) {
+                    BlockPos pos = BlockPos.of(iterator.nextLong());
+                    if (center.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5) <= rangeSquared)
+                        result.add(pos);
+                }
+            }
+        }
+        return result;
+    }
+
+    protected ChunkEntry getOrScan(int chunkX, int chunkZ, long gameTime) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        ChunkEntry entry = this.chunks.get(key);
+        if (entry == null || gameTime - entry.scanTime >= CHUNK_RESCAN_INTERVAL_TICKS) {
+            entry = this.scan(this.level.getChunk(chunkX, chunkZ), gameTime);
+            this.chunks.put(key, entry);
+        }
+        return entry;
+    }
+
+    protected ChunkEntry scan(LevelChunk chunk, long gameTime) {
+        ChunkEntry entry = new ChunkEntry(gameTime);
+        LevelChunkSection[] sections = chunk.getSections();
+        int minX = chunk.getPos().getMinBlockX();
+        int minZ = chunk.getPos().getMinBlockZ();
+
+        for (int i = 0; i < sections.length; i++) {
+            LevelChunkSection section = sections[i];
+            //the palette tells us if a section can contain targets at all, most sections cannot
+            if (section.hasOnlyAir() || !section.maybeHas(state -> isTarget(state.getBlock())))
+                continue;
+
+            int minY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(i));
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        Block block = section.getBlockState(x, y, z).getBlock();
+                        if (isTarget(block))
+                            entry.add(block, BlockPos.asLong(minX + x, minY + y, minZ + z));
+                    }
+                }
+            }
+        }
+        return entry;
+    }
+
+    protected void update(BlockPos pos, BlockState state) {
+        ChunkEntry entry = this.chunks.get(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())));
+        if (entry == null)
+            return; //not scanned yet, will be picked up by the scan
+
+        long key = pos.asLong();
+        for (LongSet positions : entry.targets.values())
+            positions.remove(key);
+        if (isTarget(state.getBlock()))
+            entry.add(state.getBlock(), key);
+    }
+
+    protected static class ChunkEntry {
+        public final Map<Block, LongSet> targets = new HashMap<>();
+        public final long scanTime;
+
+        public ChunkEntry(long scanTime) {
+            this.scanTime = scanTime;
+        }
+
+        public void add(Block block, long pos) {
+            this.targets.computeIfAbsent(block, k -> new LongOpenHashSet()).add(pos);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.misc;
+
+import net.minecraft.util.RandomSource;
+
+import java.util.List;
+
+/**
+ * Cumulative weight table over a fixed list of weighted outputs.
+ * Rolls pick the same distribution as {@link net.minecraft.util.random.WeightedRandom#getRandomItem}, but only need
+ * a binary search instead of walking the list and summing weights on every roll.
+ */
+public class WeightedOutputTable {
+
+    protected final List<WeightedOutputIngredient> entries;
+    protected final int[] cumulativeWeights;
+    protected final int totalWeight;
+
+    public WeightedOutputTable(List<WeightedOutputIngredient> entries) {
+        this.entries = List.copyOf(entries);
+        this.cumulativeWeights = new int[this.entries.size()];
+        int total = 0;
+        for (int i = 0; i < this.cumulativeWeights.length; i++) {
+            total += this.entries.get(i).getWeight().asInt();
+            this.cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    public boolean isEmpty() {
+        return this.totalWeight <= 0;
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public WeightedOutputIngredient get(int index) {
+        return this.entries.get(index);
+    }
+
+    /**
+     * Rolls a random entry.
+     *
+     * @return the index of the rolled entry, or -1 if the table is empty.
+     */
+    public int roll(RandomSource random) {
+        if (this.isEmpty())
+            return -1;
+
+        int value = random.nextInt(this.totalWeight);
+        //find the first entry whose cumulative weight exceeds the rolled value
+        int low = 0;
+        int high = this.cumulativeWeights.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.cumulativeWeights[mid] > value)
+                high = mid;
+            else
+                low = mid + 1;
+        }
+        return low;
+    }
+}
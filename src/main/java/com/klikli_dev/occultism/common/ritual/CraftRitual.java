@@ -22,6 +22,7 @@
 
 package com.klikli_dev.occultism.common.ritual;
 
+import com.klikli_dev.occultism.Occultism;
 import com.klikli_dev.occultism.common.blockentity.GoldenSacrificialBowlBlockEntity;
 import com.klikli_dev.occultism.crafting.recipe.RitualRecipe;
 import net.minecraft.core.BlockPos;
@@ -42,12 +43,29 @@ public class CraftRitual extends Ritual {
         super.finish(level, goldenBowlPosition, blockEntity, castingPlayer, activationItem);
 
 
-        activationItem.shrink(1); //remove activation item.
+        //in batch mode the activation stack holds one item per craft
+        int batchSize = activationItem.getCount();
+        activationItem.shrink(batchSize); //remove activation item.
 
         ((ServerLevel) level).sendParticles(ParticleTypes.LARGE_SMOKE, goldenBowlPosition.getX() + 0.5,
                 goldenBowlPosition.getY() + 0.5, goldenBowlPosition.getZ() + 0.5, 1, 0, 0, 0, 0);
 
-        ItemStack result = this.recipe.getResultItem(level.registryAccess()).copy();
-        this.dropResult(level, goldenBowlPosition, blockEntity, castingPlayer, result);
+        ItemStack result = this.recipe.getResultItem(level.registryAccess());
+        int remaining = result.getCount() * batchSize;
+        while (remaining > 0) {
+            ItemStack stack = result.copyWithCount(Math.min(remaining, result.getMaxStackSize()));
+            remaining -= stack.getCount();
+            this.dropResult(level, goldenBowlPosition, blockEntity, castingPlayer, stack);
+        }
+    }
+
+    @Override
+    public int getMaxBatchSize(Level level, BlockPos goldenBowlPosition, ItemStack activationItem) {
+        int max = Math.min(activationItem.getCount(), Occultism.SERVER_CONFIG.rituals.maxCraftRitualBatchSize.get());
+        //sacrifices and item uses are single events, they cannot be shared by a batch
+        if (max <= 1 || this.recipe.requiresSacrifice() || this.recipe.requiresItemUse())
+            return 1;
+
+        return Math.max(1, this.countAdditionalIngredientSets(this.getItemsOnSacrificialBowls(level, goldenBowlPosition), max));
     }
 }
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.ritual;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.level.material.FluidState;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable copy of the block states in a region around a golden bowl.
+ * Block states are stored as indices into a small palette, so the snapshot can be safely handed to worker threads.
+ * Positions outside of the captured region read as air, block entities are not captured.
+ */
+public class PentacleSnapshot implements BlockGetter {
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final int minBuildHeight;
+    private final int height;
+    private final List<BlockState> palette;
+    private final short[] states;
+
+    protected PentacleSnapshot(BoundingBox box, int minBuildHeight, int height, List<BlockState> palette, short[] states) {
+        this.minX = box.minX();
+        this.minY = box.minY();
+        this.minZ = box.minZ();
+        this.sizeX = box.getXSpan();
+        this.sizeY = box.getYSpan();
+        this.sizeZ = box.getZSpan();
+        this.minBuildHeight = minBuildHeight;
+        this.height = height;
+        this.palette = palette;
+        this.states = states;
+    }
+
+    /**
+     * Copies the block states within the given box. Must be called on the thread owning the level.
+     *
+     * @param level the level to read from.
+     * @param box   the region to capture.
+     * @return the snapshot.
+     */
+    public static PentacleSnapshot capture(Level level, BoundingBox box) {
+        List<BlockState> palette = new ArrayList<>();
+        Object2IntMap<BlockState> paletteIndices = new Object2IntOpenHashMap<>();
+        short[] states = new short[box.getXSpan() * box.getYSpan() * box.getZSpan()];
+
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int i = 0;
+        for (int y = box.minY(); y <= box.maxY(); y++) {
+            for (int z = box.minZ(); z <= box.maxZ(); z++) {
+                for (int x = box.minX(); x <= box.maxX(); x++) {
+                    BlockState state = level.getBlockState(pos.set(x, y, z));
+                    int index = paletteIndices.computeIfAbsent(state, s -> {
+                        palette.add(state);
+                        return palette.size() - 1;
+                    });
+                    states[i++] = (short) index;
+                }
+            }
+        }
+
+        return new PentacleSnapshot(box, level.getMinBuildHeight(), level.getHeight(), List.copyOf(palette), states);
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        int x = pos.getX() - this.minX;
+        int y = pos.getY() - this.minY;
+        int z = pos.getZ() - this.minZ;
+        if (x < 0 || y < 0 || z < 0 || x >= this.sizeX || y >= this.sizeY || z >= this.sizeZ)
+            return Blocks.AIR.defaultBlockState();
+
+        return this.palette.get(this.states[(y * this.sizeZ + z) * this.sizeX + x]);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return this.getBlockState(pos).getFluidState();
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return this.minBuildHeight;
+    }
+}
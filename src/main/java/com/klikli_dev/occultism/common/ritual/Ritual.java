@@ -22,6 +22,7 @@
 
 package com.klikli_dev.occultism.common.ritual;
 
+import com.klikli_dev.modonomicon.api.multiblock.Multiblock;
 import com.klikli_dev.occultism.Occultism;
 import com.klikli_dev.occultism.common.blockentity.GoldenSacrificialBowlBlockEntity;
 import com.klikli_dev.occultism.common.blockentity.SacrificialBowlBlockEntity;
@@ -43,6 +44,7 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 
 import java.util.ArrayList;
@@ -69,6 +71,12 @@ public abstract class Ritual {
     public static final int ITEM_USE_DETECTION_RANGE = 16;
     public static final int ITEM_USE_DETECTION_RANGE_SQUARE = ITEM_USE_DETECTION_RANGE * ITEM_USE_DETECTION_RANGE;
 
+    /**
+     * The range in which block changes cause a running ritual to be re-validated immediately.
+     */
+    public static final int BLOCK_CHANGE_DETECTION_RANGE = SACRIFICIAL_BOWL_RANGE + 2;
+    public static final int BLOCK_CHANGE_DETECTION_RANGE_SQUARE = BLOCK_CHANGE_DETECTION_RANGE * BLOCK_CHANGE_DETECTION_RANGE;
+
     public RitualRecipe recipe;
 
     public ResourceLocation factoryId;
@@ -283,10 +291,30 @@ public abstract class Ritual {
     public boolean consumeAdditionalIngredients(Level level, BlockPos goldenBowlPosition,
                                                 List<Ingredient> remainingAdditionalIngredients, int time,
                                                 List<ItemStack> consumedIngredients) {
+        return this.consumeAdditionalIngredients(level, goldenBowlPosition, remainingAdditionalIngredients, time,
+                consumedIngredients, 1);
+    }
+
+    /**
+     * Consumes additional ingredients from sacrificial bowls depending on the time passed.
+     *
+     * @param level                          the level.
+     * @param goldenBowlPosition             the position of the golden bowl.
+     * @param remainingAdditionalIngredients the remaining additional ingredients. Will be modified if something was
+     *                                       consumed!
+     * @param time                           the current ritual time.
+     * @param consumedIngredients            the list of already consumed ingredients, newly consumd ingredients will be
+     *                                       appended
+     * @param batchSize                      the amount of times the ritual is performed at once.
+     * @return true if ingredients were consumed successfully, or none needed to be consumed.
+     */
+    public boolean consumeAdditionalIngredients(Level level, BlockPos goldenBowlPosition,
+                                                List<Ingredient> remainingAdditionalIngredients, int time,
+                                                List<ItemStack> consumedIngredients, int batchSize) {
         if (remainingAdditionalIngredients.isEmpty())
             return true;
 
-        int totalIngredientsToConsume = (int) Math.floor(time / this.recipe.getDurationPerIngredient());
+        int totalIngredientsToConsume = (int) Math.floor(time / this.getDurationPerIngredient(batchSize));
         int ingredientsConsumed = consumedIngredients.size();
 
         int ingredientsToConsume = totalIngredientsToConsume - ingredientsConsumed;
@@ -350,6 +378,90 @@ public abstract class Ritual {
         return false;
     }
 
+    /**
+     * Gets how many times this ritual can be performed at once with the given activation item and the items on the
+     * sacrificial bowls. Rituals that support batching need to handle activation items with a count above one in
+     * {@link #finish(Level, BlockPos, GoldenSacrificialBowlBlockEntity, Player, ItemStack)}.
+     *
+     * @param level              the level.
+     * @param goldenBowlPosition the position of the golden bowl.
+     * @param activationItem     the item used to start the ritual.
+     * @return the batch size, at least 1.
+     */
+    public int getMaxBatchSize(Level level, BlockPos goldenBowlPosition, ItemStack activationItem) {
+        return 1;
+    }
+
+    /**
+     * Gets the ritual duration when performing the ritual the given amount of times at once.
+     *
+     * @param batchSize the amount of times the ritual is performed at once.
+     * @return the duration in seconds, or a negative value if the ritual does not end by itself.
+     */
+    public int getDuration(int batchSize) {
+        int duration = this.recipe.getDuration();
+        return duration < 0 ? duration : duration * batchSize;
+    }
+
+    /**
+     * Gets the time between consuming two additional ingredients when performing the ritual the given amount of times
+     * at once. For a batch size of 1 this is the recipe's duration per ingredient.
+     *
+     * @param batchSize the amount of times the ritual is performed at once.
+     * @return the time between ingredient consumption in seconds.
+     */
+    public float getDurationPerIngredient(int batchSize) {
+        if (batchSize <= 1)
+            return this.recipe.getDurationPerIngredient();
+        return this.getDuration(batchSize) / (float) (this.recipe.getIngredients().size() * batchSize + 1);
+    }
+
+    /**
+     * Gets the additional ingredients needed to perform the ritual the given amount of times at once.
+     *
+     * @param batchSize the amount of times the ritual is performed at once.
+     * @return the additional ingredients, one full set after another.
+     */
+    public List<Ingredient> getAdditionalIngredients(int batchSize) {
+        List<Ingredient> result = new ArrayList<>(this.recipe.getIngredients().size() * batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            result.addAll(this.recipe.getIngredients());
+        }
+        return result;
+    }
+
+    /**
+     * Counts how many complete sets of additional ingredients are contained in the given items.
+     *
+     * @param items the item stacks to check, each stack is treated as a single item.
+     * @param max   the max amount of sets to look for.
+     * @return the amount of complete ingredient sets, up to max.
+     */
+    public int countAdditionalIngredientSets(List<ItemStack> items, int max) {
+        List<Ingredient> additionalIngredients = this.recipe.getIngredients();
+        if (additionalIngredients.isEmpty())
+            return max;
+
+        List<ItemStack> remainingItems = new ArrayList<>(items);
+        int sets = 0;
+        while (sets < max) {
+            for (Ingredient ingredient : additionalIngredients) {
+                boolean isMatched = false;
+                for (int i = 0; i < remainingItems.size(); i++) {
+                    if (ingredient.test(remainingItems.get(i))) {
+                        isMatched = true;
+                        remainingItems.remove(i);
+                        break;
+                    }
+                }
+                if (!isMatched)
+                    return sets;
+            }
+            sets++;
+        }
+        return sets;
+    }
+
     /**
      * Compares the items on sacrificial bowls in range to the additional ingredients.
      *
@@ -427,15 +539,13 @@ public abstract class Ritual {
     }
 
     /**
-     * Gets all sacrificial bowls in range of this ritual's golden bowl.
+     * Gets the area in which sacrificial bowls are considered part of a ritual using the given pentacle.
      *
-     * @param level              the level.
+     * @param pentacle           the pentacle of the ritual.
      * @param goldenBowlPosition the block position of the golden bowl.
-     * @return a list of sacrificial bowls.
+     * @return the bounding box to search for sacrificial bowls.
      */
-    public List<SacrificialBowlBlockEntity> getSacrificialBowls(Level level, BlockPos goldenBowlPosition) {
-
-        var pentacle = this.recipe.getPentacle();
+    public static BoundingBox getSacrificialBowlArea(Multiblock pentacle, BlockPos goldenBowlPosition) {
         var offset = pentacle.getOffset();
         var size = pentacle.getSize();
 
@@ -447,10 +557,24 @@ public abstract class Ritual {
         yBowlRangeTop++;
         yBowlRangeBottom++;
 
-        List<SacrificialBowlBlockEntity> result = new ArrayList<>();
-        Iterable<BlockPos> blocksToCheck = BlockPos.betweenClosed(
+        return BoundingBox.fromCorners(
                 goldenBowlPosition.offset(-SACRIFICIAL_BOWL_RANGE, -yBowlRangeBottom, -SACRIFICIAL_BOWL_RANGE),
                 goldenBowlPosition.offset(SACRIFICIAL_BOWL_RANGE, yBowlRangeTop, SACRIFICIAL_BOWL_RANGE));
+    }
+
+    /**
+     * Gets all sacrificial bowls in range of this ritual's golden bowl.
+     *
+     * @param level              the level.
+     * @param goldenBowlPosition the block position of the golden bowl.
+     * @return a list of sacrificial bowls.
+     */
+    public List<SacrificialBowlBlockEntity> getSacrificialBowls(Level level, BlockPos goldenBowlPosition) {
+        BoundingBox area = getSacrificialBowlArea(this.recipe.getPentacle(), goldenBowlPosition);
+
+        List<SacrificialBowlBlockEntity> result = new ArrayList<>();
+        Iterable<BlockPos> blocksToCheck = BlockPos.betweenClosed(area.minX(), area.minY(), area.minZ(),
+                area.maxX(), area.maxY(), area.maxZ());
         for (BlockPos blockToCheck : blocksToCheck) {
             BlockEntity blockEntity = level.getBlockEntity(blockToCheck);
             if (blockEntity instanceof SacrificialBowlBlockEntity &&
@@ -0,0 +1,311 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.ritual;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.klikli_dev.modonomicon.api.multiblock.Multiblock;
+import com.klikli_dev.modonomicon.api.multiblock.Multiblock.SimulateResult;
+import com.klikli_dev.occultism.Occultism;
+import com.klikli_dev.occultism.common.blockentity.GoldenSacrificialBowlBlockEntity;
+import com.klikli_dev.occultism.common.blockentity.SacrificialBowlBlockEntity;
+import com.klikli_dev.occultism.crafting.recipe.OccultismRecipeCache;
+import com.klikli_dev.occultism.crafting.recipe.RitualRecipe;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tells players which pentacle or ritual they were probably trying to perform if no ritual matched.
+ * The level is snapshotted on the server thread, the closest match is computed on a worker thread and the resulting
+ * message is sent back on the server thread.
+ */
+public class RitualHelpManager {
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2,
+            new ThreadFactoryBuilder().setNameFormat("Occultism Ritual Help %d").setDaemon(true).build());
+
+    /**
+     * Players that currently have a help request in flight, further clicks are ignored until it is answered.
+     */
+    private static final Set<UUID> pendingPlayers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Snapshots the area around the golden bowl and schedules the help computation.
+     * Must be called on the server thread.
+     *
+     * @param level              the level.
+     * @param goldenBowlPosition the position of the golden bowl.
+     * @param player             the player to send the help message to.
+     */
+    public static void requestHelp(ServerLevel level, BlockPos goldenBowlPosition, Player player) {
+        if (!pendingPlayers.add(player.getUUID()))
+            return;
+
+        Request request;
+        try {
+            request = createRequest(level, goldenBowlPosition);
+        } catch (Exception e) {
+            pendingPlayers.remove(player.getUUID());
+            throw e;
+        }
+
+        CompletableFuture.supplyAsync(() -> computeHelp(request), EXECUTOR)
+                .whenComplete((message, exception) -> level.getServer().execute(() -> {
+                    pendingPlayers.remove(player.getUUID());
+
+                    if (exception != null) {
+                        Occultism.LOGGER.warn("Failed to compute ritual help.", exception);
+                        return;
+                    }
+
+                    if (player.isRemoved())
+                        return;
+
+                    player.displayClientMessage(message != null ? message :
+                            Component.translatable(String.format("ritual.%s.does_not_exist", Occultism.MODID)), false);
+                }));
+    }
+
+    /**
+     * Forgets all help requests in flight. Their answers are never delivered once the server stopped.
+     */
+    public static void clear() {
+        pendingPlayers.clear();
+    }
+
+    protected static Request createRequest(ServerLevel level, BlockPos goldenBowlPosition) {
+        OccultismRecipeCache recipeCache = OccultismRecipeCache.get(level);
+        List<RitualRecipe> recipes = recipeCache.getRitualRecipes();
+        List<Multiblock> pentacles = recipeCache.getPentacles();
+
+        //simulating only computes the target positions, the actual block checks happen on the worker
+        List<PentacleCandidate> candidates = new ArrayList<>();
+        BoundingBox area = new BoundingBox(goldenBowlPosition);
+        BoundingBox bowlArea = null;
+        for (Multiblock pentacle : pentacles) {
+            Map<Rotation, Collection<SimulateResult>> rotations = new EnumMap<>(Rotation.class);
+            for (Rotation rotation : Rotation.values()) {
+                Collection<SimulateResult> results = pentacle.simulate(level, goldenBowlPosition, rotation, false, false).getSecond();
+                for (SimulateResult result : results) {
+                    area.encapsulate(result.getWorldPosition());
+                }
+                rotations.put(rotation, results);
+            }
+            candidates.add(new PentacleCandidate(pentacle, rotations));
+
+            BoundingBox pentacleBowlArea = Ritual.getSacrificialBowlArea(pentacle, goldenBowlPosition);
+            bowlArea = bowlArea == null ? pentacleBowlArea : bowlArea.encapsulate(pentacleBowlArea);
+        }
+
+        //collect the bowl contents once for all pentacles, the worker filters them by the respective bowl area.
+        Map<BlockPos, ItemStack> bowlItems = new HashMap<>();
+        if (bowlArea != null) {
+            for (BlockPos pos : BlockPos.betweenClosed(bowlArea.minX(), bowlArea.minY(), bowlArea.minZ(),
+                    bowlArea.maxX(), bowlArea.maxY(), bowlArea.maxZ())) {
+                BlockEntity blockEntity = level.getBlockEntity(pos);
+                if (blockEntity instanceof SacrificialBowlBlockEntity bowl &&
+                        !(blockEntity instanceof GoldenSacrificialBowlBlockEntity)) {
+                    bowl.itemStackHandler.ifPresent(handler -> {
+                        ItemStack stack = handler.getStackInSlot(0);
+                        if (!stack.isEmpty()) {
+                            bowlItems.put(pos.immutable(), stack.copy());
+                        }
+                    });
+                }
+            }
+        }
+
+        return new Request(goldenBowlPosition.immutable(), PentacleSnapshot.capture(level, area), candidates, recipes, bowlItems);
+    }
+
+    /**
+     * Computes the help message. Runs on a worker thread and must only access the request data.
+     *
+     * @return the message to show, or null if no help could be determined.
+     */
+    @Nullable
+    protected static Component computeHelp(Request request) {
+        Map<BlockPos, Block> bestPentacleDiff = null;
+        Multiblock bestMatch = null;
+        Multiblock firstValidPentacle = null;
+
+        for (PentacleCandidate candidate : request.pentacles()) {
+            Map<BlockPos, Block> pentacleDiff = getDifference(candidate, request.snapshot());
+            if (bestPentacleDiff == null || bestPentacleDiff.size() > pentacleDiff.size()) {
+                bestPentacleDiff = pentacleDiff;
+                bestMatch = candidate.pentacle();
+            }
+            if (firstValidPentacle == null && pentacleDiff.isEmpty()) {
+                firstValidPentacle = candidate.pentacle();
+            }
+        }
+
+        if (bestPentacleDiff != null && !bestPentacleDiff.isEmpty() && bestPentacleDiff.size() < 4) {
+            //tell player which pentacle he was probably trying to build
+            return Component.translatable("ritual." + Occultism.MODID + ".pentacle_help",
+                    Component.translatable(Util.makeDescriptionId("multiblock", bestMatch.getId())), pentacleDiffToComponent(bestPentacleDiff));
+        } else if (bestPentacleDiff != null && !bestPentacleDiff.isEmpty()) {
+            //player probably doesn't have a pentacle at all
+            return Component.translatable("ritual." + Occultism.MODID + ".pentacle_help.no_pentacle");
+        }
+
+        if (firstValidPentacle == null)
+            return null;
+
+        return helpWithRitual(request, firstValidPentacle);
+    }
+
+    /**
+     * If we find a ritual with ingredients that almost match the bowls, then print help
+     */
+    @Nullable
+    protected static Component helpWithRitual(Request request, Multiblock pentacle) {
+        BoundingBox bowlArea = Ritual.getSacrificialBowlArea(pentacle, request.goldenBowlPosition());
+        List<ItemStack> bowlItems = request.bowlItems().entrySet().stream()
+                .filter(e -> bowlArea.isInside(e.getKey())).map(Map.Entry::getValue).toList();
+
+        List<Ingredient> bestRitualDiff = null;
+        RitualRecipe bestRitual = null;
+        for (RitualRecipe recipe : request.recipes()) {
+            if (!pentacle.getId().equals(recipe.getPentacleId()))
+                continue;
+
+            List<Ingredient> ritualDiff = new ArrayList<>(recipe.getIngredients());
+            List<ItemStack> items = new ArrayList<>(bowlItems);
+
+            for (int i = ritualDiff.size() - 1; i >= 0; i--) {
+                boolean found = false;
+                for (int j = 0; j < items.size(); j++) {
+                    if (ritualDiff.get(i).test(items.get(j))) {
+                        items.remove(j);
+                        found = true;
+                        break;
+                    }
+                }
+                if (found)
+                    ritualDiff.remove(i);
+            }
+
+            if (bestRitualDiff == null || bestRitualDiff.size() > ritualDiff.size()) {
+                bestRitualDiff = ritualDiff;
+                bestRitual = recipe;
+            }
+        }
+
+        if (bestRitualDiff != null && !bestRitualDiff.isEmpty() && bestRitualDiff.size() < 4) {
+            return Component.translatable("ritual." + Occultism.MODID + ".ritual_help",
+                    Component.translatable(bestRitual.getRitual().getStartedMessage()), ritualDiffToComponent(bestRitualDiff));
+        }
+
+        return null;
+    }
+
+    protected static Map<BlockPos, Block> getDifference(PentacleCandidate candidate, PentacleSnapshot snapshot) {
+        Map<BlockPos, Block> minDifference = new HashMap<>();
+        int minDiffSize = Integer.MAX_VALUE;
+
+        for (Map.Entry<Rotation, Collection<SimulateResult>> entry : candidate.rotations().entrySet()) {
+            Rotation stateRotation = getStateRotation(entry.getKey());
+            Map<BlockPos, Block> difference = new HashMap<>();
+
+            for (SimulateResult result : entry.getValue()) {
+                BlockPos pos = result.getWorldPosition();
+                BlockState state = snapshot.getBlockState(pos).rotate(stateRotation);
+                if (!result.getStateMatcher().getStatePredicate().test(snapshot, pos, state)) {
+                    difference.put(pos, result.getStateMatcher().getDisplayedState(0).getBlock());
+                }
+            }
+
+            if (difference.size() < minDiffSize) {
+                minDifference = difference;
+                minDiffSize = difference.size();
+            }
+        }
+
+        return minDifference;
+    }
+
+    /**
+     * Mirrors the handling of SimulateResult#test: the world state is rotated in the opposite horizontal direction
+     * of the multiblock before it is matched.
+     */
+    protected static Rotation getStateRotation(Rotation rotation) {
+        return switch (rotation) {
+            case CLOCKWISE_90 -> Rotation.COUNTERCLOCKWISE_90;
+            case COUNTERCLOCKWISE_90 -> Rotation.CLOCKWISE_90;
+            default -> rotation;
+        };
+    }
+
+    protected static MutableComponent pentacleDiffToComponent(Map<BlockPos, Block> bestPentacleDiff) {
+        var text = Component.literal("");
+
+        for (Map.Entry<BlockPos, Block> entry : bestPentacleDiff.entrySet()) {
+            text.append(Component.translatable(entry.getValue().getDescriptionId()));
+            text.append(Component.translatable("ritual." + Occultism.MODID + ".pentacle_help_at_glue"));
+            BlockPos pos = entry.getKey();
+            text.append(Component.literal("x: " + pos.getX() + ", y: " + pos.getY() + ", z: " + pos.getZ() + "\n"));
+        }
+
+        return text;
+    }
+
+    protected static MutableComponent ritualDiffToComponent(List<Ingredient> ritualDiff) {
+        Random rand = new Random();
+        var text = Component.literal("");
+
+        for (Ingredient ingredient : ritualDiff) {
+            if (ingredient.getItems().length == 0)
+                continue;
+
+            text.append(ingredient.getItems()[rand.nextInt(ingredient.getItems().length)].getDisplayName());
+            text.append("\n");
+        }
+
+        return text;
+    }
+
+    protected record PentacleCandidate(Multiblock pentacle, Map<Rotation, Collection<SimulateResult>> rotations) {
+    }
+
+    protected record Request(BlockPos goldenBowlPosition, PentacleSnapshot snapshot, List<PentacleCandidate> pentacles,
+                             List<RitualRecipe> recipes, Map<BlockPos, ItemStack> bowlItems) {
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.ritual;
+
+/**
+ * The state of a ritual as far as the client is concerned. Synced to drive client side effects.
+ */
+public enum RitualPhase {
+    /**
+     * No ritual is running.
+     */
+    NONE,
+    /**
+     * A ritual was started, but is waiting for the casting player, a sacrifice or an item use.
+     */
+    WAITING,
+    /**
+     * The ritual is in progress.
+     */
+    RUNNING;
+
+    public static RitualPhase byOrdinal(int ordinal) {
+        RitualPhase[] values = values();
+        return ordinal >= 0 && ordinal < values.length ? values[ordinal] : NONE;
+    }
+}
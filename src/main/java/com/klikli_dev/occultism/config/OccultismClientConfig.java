@@ -24,6 +24,7 @@ package com.klikli_dev.occultism.config;
 
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.common.ForgeConfigSpec.BooleanValue;
+import net.minecraftforge.common.ForgeConfigSpec.DoubleValue;
 import net.minecraftforge.common.ForgeConfigSpec.IntValue;
 
 public class OccultismClientConfig {
@@ -44,6 +45,7 @@ public class OccultismClientConfig {
         public final BooleanValue disableDemonsDreamShaders;
         public final BooleanValue disableHolidayTheming;
         public final BooleanValue useAlternativeDivinationRodRenderer;
+        public final DoubleValue effectParticleDensity;
 
         public final ForgeConfigSpec.ConfigValue<Integer> whiteChalkGlyphColor;
         public final ForgeConfigSpec.ConfigValue<Integer> goldenChalkGlyphColor;
@@ -63,6 +65,10 @@ public class OccultismClientConfig {
                             "When true the old divination rod selected block renderer will be used.",
                             "May work for some people that do not see selected block outlines when using the divination rod.")
                     .define("useAlternativeDivinationRodRenderer", false);
+            this.effectParticleDensity = builder.comment(
+                            "Scales the amount of particles shown by running rituals, crushing and trading spirits and dimensional mineshafts.",
+                            "Set to 0 to disable these particles, values above 1 show more particles.")
+                    .defineInRange("effectParticleDensity", 1.0, 0.0, 4.0);
 
             this.whiteChalkGlyphColor = builder.comment(
                     "The integer code of the color of the white chalk glyph in world.",
@@ -26,6 +26,7 @@ import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.common.ForgeConfigSpec.BooleanValue;
 import net.minecraftforge.common.ForgeConfigSpec.ConfigValue;
 import net.minecraftforge.common.ForgeConfigSpec.DoubleValue;
+import net.minecraftforge.common.ForgeConfigSpec.IntValue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -53,10 +54,19 @@ public class OccultismServerConfig {
     }
 
     public static class ItemSettings {
+        public final BooleanValue enableDivinationIndex;
+        public final IntValue divinationIndexMaxRange;
 
         public ItemSettings(ForgeConfigSpec.Builder builder) {
             builder.comment("Item Settings").push("items");
 
+            this.enableDivinationIndex = builder.comment(
+                            "If true, the server keeps an index of divination rod targets in loaded chunks and answers divination rod searches from it.",
+                            "If false, clients scan the terrain themselves.")
+                    .define("enableDivinationIndex", true);
+            this.divinationIndexMaxRange = builder.comment(
+                            "The max search range in blocks for divination rod searches answered from the server index. Client scan ranges above this are reduced to this value.")
+                    .defineInRange("divinationIndexMaxRange", 256, 1, 1024);
             builder.pop();
         }
     }
@@ -75,6 +85,9 @@ public class OccultismServerConfig {
         public final ConfigValue<Integer> blacksmithFamiliarUpgradeCost;
         public final ConfigValue<Integer> blacksmithFamiliarUpgradeCooldown;
         public final ConfigValue<Double> blacksmithFamiliarRepairChance;
+        public final IntValue reducedTickDistance;
+        public final IntValue reducedTickInterval;
+        public final BooleanValue enableAbstractedSimulation;
 
         public SpiritJobSettings(ForgeConfigSpec.Builder builder) {
             builder.comment("Spirit Job Settings").push("spirit_job");
@@ -135,6 +148,19 @@ public class OccultismServerConfig {
                                     "The cooldown for a blacksmith familiar to upgrade another familiar.")
                             .define("blacksmithFamiliarUpgradeCooldown", 20 * 20);
 
+            this.reducedTickDistance =
+                    builder.comment(
+                                    "Spirits further than this distance (in blocks) from any player update their AI and job less often. Job progress is compensated, so throughput stays the same. Set to 0 to always update every tick.")
+                            .defineInRange("reducedTickDistance", 64, 0, 512);
+            this.reducedTickInterval =
+                    builder.comment(
+                                    "The interval in ticks at which spirits further than reducedTickDistance from any player update their AI and job.")
+                            .defineInRange("reducedTickInterval", 10, 1, 40);
+            this.enableAbstractedSimulation =
+                    builder.comment(
+                                    "If true, crusher and trader spirits that stand still in their work area with no player within reducedTickDistance stop being simulated as entities. Their job keeps running: input is taken directly from the ground in the work area and output goes into the spirit's deposit inventory (or is dropped if there is none). Full simulation resumes when a player approaches or the spirit is hurt.")
+                            .define("enableAbstractedSimulation", false);
+
 
             builder.pop();
         }
@@ -145,10 +171,16 @@ public class OccultismServerConfig {
         public final MinerSpiritSettings minerDjinniOres;
         public final MinerSpiritSettings minerAfritDeeps;
         public final MinerSpiritSettings minerMaridMaster;
+        public final IntValue overflowBufferSize;
 
         public DimensionalMineshaftSettings(ForgeConfigSpec.Builder builder) {
             builder.comment("Dimensional Mineshaft Settings").push("dimensional_mineshaft");
 
+            this.overflowBufferSize = builder.comment(
+                            "The amount of item stacks a dimensional mineshaft keeps when its output is full. They are moved to the output once there is space again.",
+                            "Results that do not fit the output or this buffer are discarded. Set to 0 to discard all results that do not fit the output.")
+                    .defineInRange("overflowBufferSize", 9, 0, 64);
+
             this.minerFoliotUnspecialized =
                     new MinerSpiritSettings("miner_foliot_unspecialized", builder, 400, 1, 1000);
 
@@ -197,6 +229,7 @@ public class OccultismServerConfig {
         public final BooleanValue enableNightTimeRitual;
         public final BooleanValue enableRemainingIngredientCountMatching;
         public final DoubleValue ritualDurationMultiplier;
+        public final IntValue maxCraftRitualBatchSize;
 
         public final ConfigValue<List<String>> possibleSpiritNames;
         public final DoubleValue usePossibleSpiritNamesChance;
@@ -229,6 +262,11 @@ public class OccultismServerConfig {
             this.ritualDurationMultiplier =
                     builder.comment("Set a value below 1.0 to speed up rituals.")
                             .defineInRange("ritualDurationMultiplier", 1.0, 0.05, Double.MAX_VALUE);
+            this.maxCraftRitualBatchSize =
+                    builder.comment(
+                                    "The max amount of crafting rituals that are performed at once if the activation item stack and the sacrificial bowls hold enough items.",
+                                    "The ritual duration is multiplied by the amount of crafts. Set to 1 to disable batching.")
+                            .defineInRange("maxCraftRitualBatchSize", 64, 1, 64);
 
             this.possibleSpiritNames =
                     builder.comment("By default spirit names are generated randomly. " +
@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.crafting.recipe;
+
+import com.klikli_dev.modonomicon.api.ModonomiconAPI;
+import com.klikli_dev.modonomicon.api.multiblock.Multiblock;
+import com.klikli_dev.occultism.registry.OccultismRecipes;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.Level;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caches lookups into the Occultism recipes of a recipe manager.
+ * A new cache is created for each recipe manager instance (the server creates a new one on each data reload),
+ * additionally all caches are dropped when recipes or tags are updated, see {@link #invalidate()}.
+ */
+public class OccultismRecipeCache {
+
+    private static final Map<RecipeManager, OccultismRecipeCache> caches = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Weak, as the manager is the key of this cache in {@link #caches}, a strong reference would keep it alive.
+     */
+    private final WeakReference<RecipeManager> recipeManager;
+
+    private volatile List<RitualRecipe> ritualRecipes;
+    private volatile Map<Item, List<RitualRecipe>> ritualRecipesByActivationItem;
+    private volatile List<Multiblock> pentacles;
+    private volatile Map<Item, List<MinerRecipe>> minerRecipesByInput;
+    private final Map<Integer, List<Ingredient>> crushingIngredientsByTier = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<Item, List<CrushingRecipe>>> crushingRecipesByTier = new ConcurrentHashMap<>();
+
+    protected OccultismRecipeCache(RecipeManager recipeManager) {
+        this.recipeManager = new WeakReference<>(recipeManager);
+    }
+
+    public static OccultismRecipeCache get(Level level) {
+        return get(level.getRecipeManager());
+    }
+
+    public static OccultismRecipeCache get(RecipeManager recipeManager) {
+        return caches.computeIfAbsent(recipeManager, OccultismRecipeCache::new);
+    }
+
+    protected RecipeManager getRecipeManager() {
+        RecipeManager recipeManager = this.recipeManager.get();
+        //callers obtain the cache from a live recipe manager, so this only happens if a cache is kept around
+        if (recipeManager == null)
+            throw new IllegalStateException("Recipe manager of this recipe cache was already unloaded.");
+        return recipeManager;
+    }
+
+    /**
+     * Drops all cached data. Called when recipes or tags (which ingredients depend on) change.
+     */
+    public static void invalidate() {
+        caches.clear();
+    }
+
+    /**
+     * Indexes the given recipes by the items their ingredient can match.
+     * Recipes whose ingredient does not report any items are added to every entry, so callers still need to test the
+     * actual ingredient. Each entry keeps the order of the given recipes, as callers use the first match.
+     */
+    protected static <T> Map<Item, List<T>> indexByItem(List<T> recipes, Function<T, Ingredient> ingredientGetter) {
+        Map<Item, List<T>> index = new HashMap<>();
+        List<T> unindexed = new ArrayList<>();
+        for (T recipe : recipes) {
+            ItemStack[] items = ingredientGetter.apply(recipe).getItems();
+            if (items.length == 0) {
+                unindexed.add(recipe);
+                continue;
+            }
+            for (ItemStack stack : items) {
+                List<T> entry = index.computeIfAbsent(stack.getItem(), i -> new ArrayList<>());
+                if (!entry.contains(recipe))
+                    entry.add(recipe);
+            }
+        }
+
+        if (!unindexed.isEmpty()) {
+            Map<T, Integer> order = new IdentityHashMap<>();
+            for (int i = 0; i < recipes.size(); i++) {
+                order.put(recipes.get(i), i);
+            }
+            for (List<T> entry : index.values()) {
+                entry.addAll(unindexed);
+                entry.sort(Comparator.comparingInt(order::get));
+            }
+            index.put(null, unindexed);
+        }
+        return index;
+    }
+
+    protected static <T> List<T> getIndexed(Map<Item, List<T>> index, ItemStack stack) {
+        List<T> result = index.get(stack.getItem());
+        if (result == null)
+            result = index.get(null);
+        return result == null ? List.of() : result;
+    }
+
+    /**
+     * @return all ritual recipes.
+     */
+    public List<RitualRecipe> getRitualRecipes() {
+        if (this.ritualRecipes == null) {
+            this.ritualRecipes = List.copyOf(this.getRecipeManager().getAllRecipesFor(OccultismRecipes.RITUAL_TYPE.get()));
+        }
+        return this.ritualRecipes;
+    }
+
+    /**
+     * Gets the ritual recipes that may be started with the given activation item.
+     * The result is pre-filtered by item only, the activation ingredient still needs to be tested.
+     */
+    public List<RitualRecipe> getRitualRecipes(ItemStack activationItem) {
+        if (this.ritualRecipesByActivationItem == null) {
+            this.ritualRecipesByActivationItem = indexByItem(this.getRitualRecipes(), RitualRecipe::getActivationItem);
+        }
+        return getIndexed(this.ritualRecipesByActivationItem, activationItem);
+    }
+
+    /**
+     * @return the distinct pentacle multiblocks used by ritual recipes.
+     */
+    public List<Multiblock> getPentacles() {
+        if (this.pentacles == null) {
+            this.pentacles = this.getRitualRecipes().stream().map(RitualRecipe::getPentacleId).distinct()
+                    .map(ModonomiconAPI.get()::getMultiblock).filter(Objects::nonNull).toList();
+        }
+        return this.pentacles;
+    }
+
+    /**
+     * Gets the ingredients of all crushing recipes a crusher of the given tier can perform.
+     */
+    public List<Ingredient> getCrushingIngredients(int tier) {
+        return this.crushingIngredientsByTier.computeIfAbsent(tier, t ->
+                this.getRecipeManager().getAllRecipesFor(OccultismRecipes.CRUSHING_TYPE.get()).stream()
+                        .filter(recipe -> recipe.getMinTier() <= t)
+                        .flatMap(recipe -> recipe.getIngredients().stream()).toList());
+    }
+
+    /**
+     * Gets the crushing recipes a crusher of the given tier may perform on the given input.
+     * The result is pre-filtered by item only, the recipe still needs to be tested.
+     */
+    public List<CrushingRecipe> getCrushingRecipes(ItemStack input, int tier) {
+        Map<Item, List<CrushingRecipe>> index = this.crushingRecipesByTier.computeIfAbsent(tier, t ->
+                indexByItem(this.getRecipeManager().getAllRecipesFor(OccultismRecipes.CRUSHING_TYPE.get()).stream()
+                        .filter(recipe -> recipe.getMinTier() <= t).toList(), recipe -> recipe.getIngredients().get(0)));
+        return getIndexed(index, input);
+    }
+
+    /**
+     * Gets the miner recipes that may accept the given input.
+     * The result is pre-filtered by item only, the recipe input still needs to be tested.
+     */
+    public List<MinerRecipe> getMinerRecipes(ItemStack input) {
+        if (this.minerRecipesByInput == null) {
+            this.minerRecipesByInput = indexByItem(this.getRecipeManager().getAllRecipesFor(OccultismRecipes.MINER_TYPE.get()),
+                    recipe -> recipe.getIngredients().get(0));
+        }
+        return getIndexed(this.minerRecipesByInput, input);
+    }
+}
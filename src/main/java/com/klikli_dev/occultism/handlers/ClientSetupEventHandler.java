@@ -30,10 +30,12 @@ import com.klikli_dev.occultism.client.gui.storage.*;
 import com.klikli_dev.occultism.client.itemproperties.*;
 import com.klikli_dev.occultism.client.keybindings.BackpackKeyConflictContext;
 import com.klikli_dev.occultism.client.keybindings.StorageRemoteKeyConflictContext;
+import com.klikli_dev.occultism.client.model.block.UncoverableBakedModel;
 import com.klikli_dev.occultism.client.model.entity.*;
 import com.klikli_dev.occultism.client.render.blockentity.SacrificialBowlRenderer;
 import com.klikli_dev.occultism.client.render.blockentity.StorageControllerGeoRenderer;
 import com.klikli_dev.occultism.client.render.entity.*;
+import com.klikli_dev.occultism.common.block.otherworld.IOtherworldBlock;
 import com.klikli_dev.occultism.common.capability.FamiliarSettingsCapability;
 import com.klikli_dev.occultism.common.container.spirit.SpiritContainer;
 import com.klikli_dev.occultism.common.entity.spirit.demonicpartner.husband.DemonicHusbandRenderer;
@@ -43,13 +45,19 @@ import com.klikli_dev.occultism.registry.*;
 import com.mojang.blaze3d.platform.InputConstants;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.gui.screens.MenuScreens;
+import net.minecraft.client.renderer.block.BlockModelShaper;
 import net.minecraft.client.renderer.blockentity.BlockEntityRenderers;
 import net.minecraft.client.renderer.entity.*;
 import net.minecraft.client.renderer.item.ItemProperties;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.client.resources.model.ModelResourceLocation;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.EntityRenderersEvent;
+import net.minecraftforge.client.event.ModelEvent;
 import net.minecraftforge.client.event.RegisterGuiOverlaysEvent;
 import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
 import net.minecraftforge.client.event.ScreenEvent;
@@ -215,6 +223,27 @@ public class ClientSetupEventHandler {
         });
     }
 
+    @SubscribeEvent
+    public static void onModifyBakingResult(ModelEvent.ModifyBakingResult event) {
+        //otherworld blocks are uncovered client side by swapping models at render time, instead of changing the block state
+        Map<ResourceLocation, BakedModel> models = event.getModels();
+        for (Block block : ForgeRegistries.BLOCKS) {
+            if (!(block instanceof IOtherworldBlock))
+                continue;
+
+            for (BlockState state : block.getStateDefinition().getPossibleStates()) {
+                if (state.getValue(IOtherworldBlock.UNCOVERED))
+                    continue;
+
+                ModelResourceLocation coveredLocation = BlockModelShaper.stateToModelLocation(state);
+                BakedModel coveredModel = models.get(coveredLocation);
+                BakedModel uncoveredModel = models.get(BlockModelShaper.stateToModelLocation(state.setValue(IOtherworldBlock.UNCOVERED, true)));
+                if (coveredModel != null && uncoveredModel != null)
+                    models.put(coveredLocation, new UncoverableBakedModel(coveredModel, uncoveredModel));
+            }
+        }
+    }
+
     @SubscribeEvent
     public static void onRegisterGuiOverlays(RegisterGuiOverlaysEvent event) {
         event.registerAboveAll("third_eye", (gui, guiGraphics, partialTick, screenWidth, screenHeight) -> {
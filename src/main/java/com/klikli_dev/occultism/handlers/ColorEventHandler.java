@@ -58,7 +58,8 @@ public class ColorEventHandler {
         //but while covered the oak leaves need their vanilla tint
         event.getBlockColors()
                 .register((state, light, pos, tintIndex) ->
-                                state.getValue(IOtherworldBlock.UNCOVERED) ?
+                                state.getValue(IOtherworldBlock.UNCOVERED) ||
+                                        (pos != null && Occultism.THIRD_EYE_EFFECT_RENDERER.isUncovered(pos)) ?
                                         0xFFFFFF : (light != null && pos != null ?
                                         BiomeColors.getAverageFoliageColor(light, pos) :
                                         FoliageColor.getDefaultColor()),
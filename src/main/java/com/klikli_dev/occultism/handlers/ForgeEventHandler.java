@@ -23,8 +23,27 @@
 package com.klikli_dev.occultism.handlers;
 
 import com.klikli_dev.occultism.Occultism;
+import com.klikli_dev.occultism.common.blockentity.StorageProxyRegistry;
+import com.klikli_dev.occultism.common.entity.TrackedEntityRegistry;
+import com.klikli_dev.occultism.common.entity.ai.ItemEntityIndex;
+import com.klikli_dev.occultism.common.entity.ai.LineOfSightCache;
+import com.klikli_dev.occultism.common.entity.ai.sensor.TreeStumpIndex;
+import com.klikli_dev.occultism.common.level.cave.SphericalCaveRegistry;
+import com.klikli_dev.occultism.common.misc.DivinationTargetIndex;
+import com.klikli_dev.occultism.common.ritual.RitualHelpManager;
+import com.klikli_dev.occultism.crafting.recipe.OccultismRecipeCache;
 import com.klikli_dev.occultism.registry.OccultismCommands;
+import net.minecraft.world.level.Level;
 import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.entity.EntityEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
@@ -37,5 +56,67 @@ public class ForgeEventHandler {
     public static void registerCommands(RegisterCommandsEvent event) {
         OccultismCommands.register(event.getDispatcher());
     }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        //cached recipe lookups resolve ingredient tags, so they need to be rebuilt
+        OccultismRecipeCache.invalidate();
+    }
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        //fired for every block change that updates neighbours, covers players, spirits and tree growth alike
+        TreeStumpIndex.onBlockChanged(event.getLevel(), event.getPos(), event.getState());
+        LineOfSightCache.onBlockChanged(event.getLevel(), event.getPos());
+        DivinationTargetIndex.onBlockChanged(event.getLevel(), event.getPos(), event.getState());
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        TreeStumpIndex.onChunkChanged(event.getLevel(), event.getChunk().getPos());
+        DivinationTargetIndex.onChunkChanged(event.getLevel(), event.getChunk().getPos());
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        TreeStumpIndex.onChunkChanged(event.getLevel(), event.getChunk().getPos());
+        DivinationTargetIndex.onChunkChanged(event.getLevel(), event.getChunk().getPos());
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        TreeStumpIndex.onLevelUnload(event.getLevel());
+        DivinationTargetIndex.onLevelUnload(event.getLevel());
+        if (event.getLevel() instanceof Level level) {
+            ItemEntityIndex.onLevelUnload(level);
+            LineOfSightCache.onLevelUnload(level);
+        }
+    }
+
+    //lowest priority, so we only see entities that actually join
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        ItemEntityIndex.onEntityJoin(event.getEntity());
+        TrackedEntityRegistry.onEntityJoin(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        ItemEntityIndex.onEntityLeave(event.getEntity());
+        TrackedEntityRegistry.onEntityLeave(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onEntityEnteringSection(EntityEvent.EnteringSection event) {
+        ItemEntityIndex.onEntityMove(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        StorageProxyRegistry.clear();
+        TrackedEntityRegistry.clear();
+        SphericalCaveRegistry.clear();
+        RitualHelpManager.clear();
+    }
     //endregion Static Methods
 }
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.network;
+
+import com.klikli_dev.occultism.client.divination.ScanManager;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.List;
+
+/**
+ * Answers a {@link MessageRequestDivinationResults}.
+ * If the server does not index the requested block, indexSupported is false and the client scans itself.
+ */
+public class MessageDivinationResults extends MessageBase {
+
+    public int requestId;
+    public boolean indexSupported;
+    public List<BlockPos> results;
+
+    public MessageDivinationResults(FriendlyByteBuf buf) {
+        this.decode(buf);
+    }
+
+    public MessageDivinationResults(int requestId, boolean indexSupported, List<BlockPos> results) {
+        this.requestId = requestId;
+        this.indexSupported = indexSupported;
+        this.results = results;
+    }
+
+    @Override
+    public void onClientReceived(Minecraft minecraft, Player player, NetworkEvent.Context context) {
+        ScanManager.instance.onServerResults(this.requestId, this.indexSupported, this.results);
+    }
+
+    @Override
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(this.requestId);
+        buf.writeBoolean(this.indexSupported);
+        buf.writeCollection(this.results, FriendlyByteBuf::writeBlockPos);
+    }
+
+    @Override
+    public void decode(FriendlyByteBuf buf) {
+        this.requestId = buf.readVarInt();
+        this.indexSupported = buf.readBoolean();
+        this.results = buf.readList(FriendlyByteBuf::readBlockPos);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.network;
+
+import com.klikli_dev.occultism.Occultism;
+import com.klikli_dev.occultism.OccultismConstants;
+import com.klikli_dev.occultism.common.item.tool.DivinationRodItem;
+import com.klikli_dev.occultism.common.misc.DivinationTargetIndex;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.network.NetworkEvent;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Asks the server to answer a divination rod search from the {@link DivinationTargetIndex}.
+ * Answered with a {@link MessageDivinationResults}.
+ */
+public class MessageRequestDivinationResults extends MessageBase {
+
+    /**
+     * The max amount of positions sent back if all results are requested.
+     */
+    public static final int MAX_RESULTS = 4096;
+
+    /**
+     * The min time between two answered requests of a player. A divination rod search takes longer than this.
+     */
+    public static final int MIN_REQUEST_INTERVAL_TICKS = 20;
+
+    //server thread only
+    private static final Map<ServerPlayer, Long> lastRequestTimes = new WeakHashMap<>();
+
+    public int requestId;
+    public ResourceLocation blockId;
+    public int range;
+    public boolean includeAllResults;
+
+    public MessageRequestDivinationResults(FriendlyByteBuf buf) {
+        this.decode(buf);
+    }
+
+    public MessageRequestDivinationResults(int requestId, ResourceLocation blockId, int range, boolean includeAllResults) {
+        this.requestId = requestId;
+        this.blockId = blockId;
+        this.range = range;
+        this.includeAllResults = includeAllResults;
+    }
+
+    @Override
+    public void onServerReceived(MinecraftServer minecraftServer, ServerPlayer player,
+                                 NetworkEvent.Context context) {
+        Block target = ForgeRegistries.BLOCKS.getValue(this.blockId);
+        if (!Occultism.SERVER_CONFIG.itemSettings.enableDivinationIndex.get() || target == null ||
+                !DivinationTargetIndex.isTarget(target) || !this.isHoldingLinkedRod(player) || this.isRateLimited(player)) {
+            //let the client scan itself, it only sees what it has loaded anyway
+            OccultismPackets.sendTo(player, new MessageDivinationResults(this.requestId, false, List.of()));
+            return;
+        }
+
+        Vec3 center = player.position();
+        //never reach further than the player could see on their own
+        int range = Math.min(Math.min(this.range, Occultism.SERVER_CONFIG.itemSettings.divinationIndexMaxRange.get()),
+                minecraftServer.getPlayerList().getViewDistance() * SectionPos.SECTION_SIZE);
+        List<BlockPos> results = DivinationTargetIndex.get(player.serverLevel()).find(target, center, range);
+        if (this.includeAllResults) {
+            results.sort(Comparator.comparingDouble(pos -> center.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5)));
+            if (results.size() > MAX_RESULTS)
+                results = results.subList(0, MAX_RESULTS);
+        } else {
+            results = results.stream()
+                    .min(Comparator.comparingDouble(pos -> center.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5)))
+                    .map(List::of).orElse(List.of());
+        }
+        OccultismPackets.sendTo(player, new MessageDivinationResults(this.requestId, true, results));
+    }
+
+    /**
+     * Checks if the player holds a divination rod linked to the requested block.
+     * The request is sent while the rod is used on the client, before the server handles the use, so we check the
+     * held items instead of the item in use.
+     */
+    protected boolean isHoldingLinkedRod(ServerPlayer player) {
+        for (InteractionHand hand : InteractionHand.values()) {
+            ItemStack stack = player.getItemInHand(hand);
+            if (stack.getItem() instanceof DivinationRodItem && stack.hasTag() &&
+                    this.blockId.toString().equals(stack.getTag().getString(OccultismConstants.Nbt.Divination.LINKED_BLOCK_ID)))
+                return true;
+        }
+        return false;
+    }
+
+    protected boolean isRateLimited(ServerPlayer player) {
+        long gameTime = player.level().getGameTime();
+        Long lastRequestTime = lastRequestTimes.get(player);
+        if (lastRequestTime != null && gameTime - lastRequestTime < MIN_REQUEST_INTERVAL_TICKS)
+            return true;
+        lastRequestTimes.put(player, gameTime);
+        return false;
+    }
+
+    @Override
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(this.requestId);
+        buf.writeResourceLocation(this.blockId);
+        buf.writeVarInt(this.range);
+        buf.writeBoolean(this.includeAllResults);
+    }
+
+    @Override
+    public void decode(FriendlyByteBuf buf) {
+        this.requestId = buf.readVarInt();
+        this.blockId = buf.readResourceLocation();
+        this.range = buf.readVarInt();
+        this.includeAllResults = buf.readBoolean();
+    }
+}
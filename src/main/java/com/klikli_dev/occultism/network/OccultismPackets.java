@@ -225,6 +225,18 @@ public class OccultismPackets {
                 MessageSyncFamiliarSettings::encode,
                 MessageSyncFamiliarSettings::new,
                 OccultismPacketHandler::handle);
+
+        INSTANCE.registerMessage(nextID(),
+                MessageRequestDivinationResults.class,
+                MessageRequestDivinationResults::encode,
+                MessageRequestDivinationResults::new,
+                OccultismPacketHandler::handle);
+
+        INSTANCE.registerMessage(nextID(),
+                MessageDivinationResults.class,
+                MessageDivinationResults::encode,
+                MessageDivinationResults::new,
+                OccultismPacketHandler::handle);
     }
 
     public static <MSG> void sendToTracking(Entity entity, MSG message) {
@@ -24,6 +24,7 @@ package com.klikli_dev.occultism.registry;
 
 import com.klikli_dev.occultism.Occultism;
 import com.klikli_dev.occultism.common.command.DebugAICommand;
+import com.klikli_dev.occultism.common.command.DebugCavesCommand;
 import com.klikli_dev.occultism.common.command.NbtCommand;
 import com.klikli_dev.occultism.common.command.ShareNbtCommand;
 import com.mojang.brigadier.CommandDispatcher;
@@ -39,6 +40,7 @@ public class OccultismCommands {
         LiteralCommandNode<CommandSourceStack> debugCommand = dispatcher.register(
                 Commands.literal("debug")
                         .then(DebugAICommand.register(dispatcher))
+                        .then(DebugCavesCommand.register(dispatcher))
         );
 
         //register dispatcher for subcommands of /occultism
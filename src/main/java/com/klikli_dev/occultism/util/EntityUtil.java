@@ -22,6 +22,7 @@
 
 package com.klikli_dev.occultism.util;
 
+import com.klikli_dev.occultism.common.entity.TrackedEntityRegistry;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
@@ -47,12 +48,11 @@ public class EntityUtil {
      * @return Optional containing the player.
      */
     public static Optional<ServerPlayer> getPlayerByUuiDGlobal(UUID uuid) {
-        for (ServerLevel level : ServerLifecycleHooks.getCurrentServer().getAllLevels()) {
-            ServerPlayer player = (ServerPlayer) level.getPlayerByUUID(uuid);
-            if (player != null)
-                return Optional.of(player);
-        }
-        return Optional.empty();
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (uuid == null || server == null)
+            return Optional.empty();
+        //the player list knows all players across levels
+        return Optional.ofNullable(server.getPlayerList().getPlayer(uuid));
     }
 
     /**
@@ -67,14 +67,36 @@ public class EntityUtil {
 
     /**
      * Gets the entity by given uuid. Call on server only!
+     * Only finds players and entities tracked by the {@link TrackedEntityRegistry} (spirits, familiars, demonic
+     * partners), use {@link #getAnyEntityByUuiDGlobal(MinecraftServer, UUID)} for other entities.
      *
      * @param uuid the uuid of the entity
      * @return Optional containing the entity.
      */
     public static Optional<? extends Entity> getEntityByUuiDGlobal(MinecraftServer server, UUID uuid) {
         if (uuid != null && server != null) {
+            Entity entity = TrackedEntityRegistry.get(uuid);
+            if (entity != null)
+                return Optional.of(entity);
+            return Optional.ofNullable(server.getPlayerList().getPlayer(uuid));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the entity by given uuid, searching all levels. Call on server only!
+     *
+     * @param uuid the uuid of the entity
+     * @return Optional containing the entity.
+     */
+    public static Optional<? extends Entity> getAnyEntityByUuiDGlobal(MinecraftServer server, UUID uuid) {
+        if (uuid != null && server != null) {
+            Entity entity = TrackedEntityRegistry.get(uuid);
+            if (entity != null)
+                return Optional.of(entity);
+
             for (ServerLevel level : server.getAllLevels()) {
-                Entity entity = level.getEntity(uuid);
+                entity = level.getEntity(uuid);
                 if (entity != null)
                     return Optional.of(entity);
             }
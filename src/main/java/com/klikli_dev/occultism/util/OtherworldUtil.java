@@ -22,9 +22,11 @@
 
 package com.klikli_dev.occultism.util;
 
+import com.klikli_dev.occultism.Occultism;
 import com.klikli_dev.occultism.common.item.otherworld.OtherworldBlockItem;
 import com.klikli_dev.occultism.registry.OccultismEffects;
 import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
@@ -58,5 +60,26 @@ public class OtherworldUtil {
         return stack.getOrCreateTag().getBoolean("isInventoryItem") ||
                 thirdEye ? item.getOrCreateDescriptionId() : item.getDescriptionId();
     }
+
+    /**
+     * Runs on both physical client and server. Returns false for physical server. Returns isUncoveredClient for
+     * physical client.
+     */
+    public static boolean isUncoveredDistAware(BlockPos pos) {
+        if (FMLEnvironment.dist == Dist.CLIENT)
+            return isUncoveredClient(pos);
+        return false;
+    }
+
+    /**
+     * Runs on physical client. Returns false for logical server. Returns true for logical client if the block at the
+     * given position is drawn uncovered by third eye or goggles.
+     */
+    @OnlyIn(Dist.CLIENT)
+    public static boolean isUncoveredClient(BlockPos pos) {
+        if (Thread.currentThread().getThreadGroup() == SidedThreadGroups.SERVER)
+            return false;
+        return Occultism.THIRD_EYE_EFFECT_RENDERER.isUncovered(pos);
+    }
     //endregion Static Methods
 }
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright 2023 klikli-dev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT
+ * OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.klikli_dev.occultism.common.level.multichunk;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.levelgen.XoroshiroRandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies that the cached root search finds the same roots as the uncached search it replaced,
+ * and leaves the random it is given in the same state.
+ */
+public class RootPositionCacheTest {
+
+    private static final long[] LEVEL_SEEDS = {0L, 12345L, -8765432109876543L};
+    private static final int GEN_DEPTH = 384;
+
+    private static final List<RootPositionCache.Settings> SETTINGS = List.of(
+            //the otherworld cave config
+            new RootPositionCache.Settings(5, 70, 20, 60, 1234567),
+            //roots in (almost) every chunk
+            new RootPositionCache.Settings(3, 1, 0, 512, 42),
+            new RootPositionCache.Settings(1, 2, 10, 11, 7),
+            new RootPositionCache.Settings(16, 20, 0, 100, Integer.MAX_VALUE)
+    );
+
+    /**
+     * The root search as it was before root positions were cached.
+     */
+    private static List<BlockPos> getRootPositionsUncached(long levelSeed, int genDepth, RandomSource random,
+                                                           ChunkPos generatingChunk,
+                                                           RootPositionCache.Settings settings) {
+        ArrayList<BlockPos> result = new ArrayList<>(1);
+        int max = settings.maxChunksToRoot();
+        for (int i = -max; i < max; i++) {
+            for (int j = -max; j < max; j++) {
+                random.setSeed(RootPositionCache.getLargeFeatureWithSaltSeed(levelSeed, generatingChunk.x + i,
+                        generatingChunk.z + j, settings.featureSeedSalt()));
+
+                if (random.nextInt(settings.chanceToGenerate()) == 0) {
+                    result.add(new ChunkPos(generatingChunk.x + i, generatingChunk.z + j).getWorldPosition().offset(
+                            random.nextInt(15),
+                            Math.min(genDepth, settings.minGenerationHeight() + random.nextInt(
+                                    Math.max(0, settings.maxGenerationHeight() - settings.minGenerationHeight()))),
+                            random.nextInt(15)));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void cachedRootsMatchUncachedRoots() {
+        for (RootPositionCache.Settings settings : SETTINGS) {
+            for (long levelSeed : LEVEL_SEEDS) {
+                //a fresh cache per run, so both the first (uncached) and repeated (cached) lookups are compared
+                RootPositionCache cache = new RootPositionCache();
+                long randomSeed = levelSeed ^ 0x5DEECE66DL;
+
+                //walk over neighbouring chunks like worldgen does, so most lookups hit the cache
+                for (int pass = 0; pass < 2; pass++) {
+                    for (int chunkX = -6; chunkX <= 6; chunkX++) {
+                        for (int chunkZ = -6; chunkZ <= 6; chunkZ++) {
+                            ChunkPos chunk = new ChunkPos(chunkX, chunkZ);
+                            RandomSource expectedRandom = new XoroshiroRandomSource(randomSeed + chunk.toLong());
+                            RandomSource actualRandom = new XoroshiroRandomSource(randomSeed + chunk.toLong());
+
+                            List<BlockPos> expected = getRootPositionsUncached(levelSeed, GEN_DEPTH, expectedRandom, chunk, settings);
+                            List<BlockPos> actual = cache.getRootPositions(levelSeed, GEN_DEPTH, actualRandom, chunk, settings);
+
+                            String message = "settings " + settings + ", level seed " + levelSeed + ", chunk " + chunk + ", pass " + pass;
+                            assertEquals(expected, actual, message);
+                            //sub features keep using the random, so it has to end up in the same state
+                            for (int i = 0; i < 8; i++) {
+                                assertEquals(expectedRandom.nextLong(), actualRandom.nextLong(), message);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void evictedRootsMatchUncachedRoots() {
+        RootPositionCache.Settings settings = SETTINGS.get(0);
+        //smaller than a single search area, so entries are evicted while searching
+        RootPositionCache cache = new RootPositionCache(16);
+
+        for (int chunkX = -4; chunkX <= 4; chunkX++) {
+            ChunkPos chunk = new ChunkPos(chunkX, chunkX * 3);
+            RandomSource expectedRandom = new XoroshiroRandomSource(chunk.toLong());
+            RandomSource actualRandom = new XoroshiroRandomSource(chunk.toLong());
+
+            assertEquals(getRootPositionsUncached(12345L, GEN_DEPTH, expectedRandom, chunk, settings),
+                    cache.getRootPositions(12345L, GEN_DEPTH, actualRandom, chunk, settings));
+            assertEquals(expectedRandom.nextLong(), actualRandom.nextLong());
+            assertEquals(16, cache.size());
+        }
+    }
+}